@@ -0,0 +1,49 @@
+package cn.chengzhimeow.ccyaml.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 基准测试使用的 YAML 文本生成器
+ */
+public final class BenchmarkData {
+    private BenchmarkData() {
+    }
+
+    /**
+     * 生成包含注释, 标量, 列表和嵌套 Map 的 YAML 文本
+     *
+     * @param sections 顶层节点数量, 每个顶层节点包含约 10 个键
+     * @return YAML 文本
+     */
+    public static @NotNull String generate(int sections) {
+        StringBuilder builder = new StringBuilder(sections * 256);
+        builder.append("# 基准测试配置\n");
+        builder.append("config_version: \"1.0.0\"\n");
+        for (int i = 0; i < sections; i++) {
+            builder.append("# 第 ").append(i).append(" 个节点\n");
+            builder.append("section_").append(i).append(":\n");
+            builder.append("  name: \"section ").append(i).append("\" # 名称\n");
+            builder.append("  enabled: ").append(i % 2 == 0).append('\n');
+            builder.append("  amount: ").append(i).append('\n');
+            builder.append("  ratio: ").append(i / 10.0).append('\n');
+            builder.append("  description: |\n    第一行\n    第二行\n");
+            builder.append("  tags:\n    - alpha\n    - beta\n");
+            builder.append("  numbers: [1, 2, 3, 4, 5]\n");
+            builder.append("  nested:\n    inner:\n      value: ").append(i).append("\n      text: inner text\n");
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 生成指定深度的路径
+     *
+     * @param depth 深度
+     * @param leaf  末端键
+     * @return 路径
+     */
+    public static @NotNull String path(int depth, @NotNull String leaf) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < depth - 1; i++) builder.append("level").append(i).append('.');
+        return builder.append(leaf).toString();
+    }
+}
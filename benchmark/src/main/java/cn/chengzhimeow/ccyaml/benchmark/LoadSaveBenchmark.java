@@ -0,0 +1,79 @@
+package cn.chengzhimeow.ccyaml.benchmark;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 加载与保存的基准测试, 覆盖不同的文件大小
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadSaveBenchmark {
+    @Param({"10", "1000", "10000"})
+    public int sections;
+
+    private String text;
+    private byte[] bytes;
+    private File file;
+    private File saveFile;
+    private YamlConfiguration configuration;
+
+    @Setup
+    public void setup() throws IOException {
+        this.text = BenchmarkData.generate(this.sections);
+        this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+
+        File folder = Files.createTempDirectory("cc-yaml-benchmark").toFile();
+        this.file = new File(folder, "load.yml");
+        this.saveFile = new File(folder, "save.yml");
+        Files.write(this.file.toPath(), this.bytes);
+
+        this.configuration = YamlConfiguration.loadConfiguration(this.bytes);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file.toPath());
+        Files.deleteIfExists(this.saveFile.toPath());
+        Files.deleteIfExists(this.file.getParentFile().toPath());
+    }
+
+    @Benchmark
+    public YamlConfiguration loadReader() {
+        return YamlConfiguration.loadConfiguration(new StringReader(this.text));
+    }
+
+    @Benchmark
+    public YamlConfiguration loadBytes() {
+        return YamlConfiguration.loadConfiguration(this.bytes);
+    }
+
+    @Benchmark
+    public YamlConfiguration loadFile() throws IOException {
+        return YamlConfiguration.loadConfiguration(this.file);
+    }
+
+    @Benchmark
+    public void saveStream() throws IOException {
+        this.configuration.save(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void saveFile() throws IOException {
+        // 每次修改一个值, 避免内容相同时跳过写入
+        this.configuration.set("config_version", Long.toString(System.nanoTime()));
+        this.configuration.save(this.saveFile);
+    }
+}
@@ -0,0 +1,87 @@
+package cn.chengzhimeow.ccyaml.benchmark;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigKey;
+import cn.chengzhimeow.ccyaml.configuration.ConfigPath;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读取, 写入与键遍历的基准测试, 覆盖不同的路径深度
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+    @Param({"1", "4", "8"})
+    public int depth;
+
+    private YamlConfiguration configuration;
+    private String stringPath;
+    private String intPath;
+    private ConfigPath intConfigPath;
+    private ConfigKey<Integer> intKey;
+    private String missingPath;
+
+    @Setup
+    public void setup() {
+        this.configuration = YamlConfiguration.loadConfiguration(BenchmarkData.generate(1000).getBytes(StandardCharsets.UTF_8));
+        this.stringPath = BenchmarkData.path(this.depth, "string");
+        this.intPath = BenchmarkData.path(this.depth, "int");
+        this.configuration.set(this.stringPath, "value");
+        this.configuration.set(this.intPath, 1314);
+
+        this.intConfigPath = ConfigPath.of(this.intPath);
+        this.intKey = ConfigKey.of(this.intPath, Integer.class);
+        this.missingPath = BenchmarkData.path(this.depth, "missing");
+    }
+
+    @Benchmark
+    public String getString() {
+        return this.configuration.getString(this.stringPath);
+    }
+
+    @Benchmark
+    public int getInt() {
+        return this.configuration.getInt(this.intPath);
+    }
+
+    @Benchmark
+    public Integer getConfigPath() {
+        return this.configuration.get(this.intConfigPath, Integer.class);
+    }
+
+    @Benchmark
+    public Integer getConfigKey() {
+        return this.intKey.get(this.configuration);
+    }
+
+    @Benchmark
+    public boolean hasMissing() {
+        return this.configuration.has(this.missingPath);
+    }
+
+    @Benchmark
+    public void setExisting() {
+        this.configuration.set(this.intPath, 520);
+    }
+
+    @Benchmark
+    public MemoryConfiguration setCreatingParents() {
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        configuration.set(this.stringPath, "value");
+        return configuration;
+    }
+
+    @Benchmark
+    public Set<String> getKeysDeep() {
+        return this.configuration.getKeys(true);
+    }
+}
@@ -0,0 +1,86 @@
+package cn.chengzhimeow.ccyaml.benchmark;
+
+import cn.chengzhimeow.ccyaml.CCYaml;
+import cn.chengzhimeow.ccyaml.manager.AbstractYamlManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * AbstractYamlManager.update() 的基准测试
+ * 源配置比本地配置多出若干新键, 每次调用前都会还原本地配置
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateBenchmark {
+    @Param({"10", "1000"})
+    public int sections;
+
+    private Path folder;
+    private byte[] oldBytes;
+    private URLClassLoader classLoader;
+    private AbstractYamlManager manager;
+
+    @Setup
+    public void setup() throws IOException {
+        this.folder = Files.createTempDirectory("cc-yaml-benchmark");
+        Path resources = Files.createDirectories(this.folder.resolve("resources"));
+        Path data = Files.createDirectories(this.folder.resolve("data"));
+
+        String oldText = BenchmarkData.generate(this.sections);
+        StringBuilder newText = new StringBuilder(oldText.replace("config_version: \"1.0.0\"", "config_version: \"2.0.0\""));
+        for (int i = 0; i < this.sections; i += 10) {
+            newText.append("# 新增节点\n");
+            newText.append("added_").append(i).append(":\n  value: ").append(i).append('\n');
+        }
+        Files.writeString(resources.resolve("config.yml"), newText, StandardCharsets.UTF_8);
+        this.oldBytes = oldText.getBytes(StandardCharsets.UTF_8);
+
+        this.classLoader = new URLClassLoader(new URL[]{resources.toUri().toURL()}, null);
+        CCYaml instance = new CCYaml(this.classLoader, data.toFile(), "2.0.0");
+        this.manager = new AbstractYamlManager(instance) {
+            @Override
+            public String originFilePath() {
+                return "config.yml";
+            }
+
+            @Override
+            public String filePath() {
+                return "config.yml";
+            }
+        };
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() throws IOException {
+        File file = this.manager.getFile();
+        Files.write(file.toPath(), this.oldBytes);
+        this.manager.reload();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.classLoader.close();
+        try (Stream<Path> stream = Files.walk(this.folder)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    public void update() {
+        this.manager.update();
+    }
+}
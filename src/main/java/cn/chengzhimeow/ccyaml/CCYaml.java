@@ -1,6 +1,9 @@
 package cn.chengzhimeow.ccyaml;
 
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlSnapshotCache;
 import cn.chengzhimeow.ccyaml.manager.FileManager;
+import cn.chengzhimeow.ccyaml.metrics.YamlMetrics;
 import lombok.Getter;
 import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
@@ -18,6 +21,16 @@ public final class CCYaml {
 
     @Setter
     private @NotNull String configVersionKey = "config_version";
+    /**
+     * 管理器加载文件时使用的快照缓存, 为 null 时不使用快照
+     */
+    @Setter
+    private @Nullable YamlSnapshotCache snapshotCache;
+    /**
+     * 管理器与其加载的配置使用的指标实现
+     */
+    @Setter
+    private @NotNull YamlMetrics metrics = YamlMetrics.NOOP;
 
     public CCYaml(@NotNull ClassLoader classLoader, @Nullable File parent, @NotNull String version) {
         this.classLoader = classLoader;
@@ -30,4 +43,16 @@ public final class CCYaml {
     public CCYaml(String version) {
         this(CCYaml.class.getClassLoader(), null, version);
     }
+
+    /**
+     * 创建使用当前快照缓存和指标实现的空配置
+     *
+     * @return 配置实例
+     */
+    public @NotNull YamlConfiguration createConfiguration() {
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.setSnapshotCache(this.snapshotCache);
+        configuration.setMetrics(this.metrics);
+        return configuration;
+    }
 }
@@ -0,0 +1,72 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * 字节大小, 用于读取 "512KB", "1.5 GiB" 这类配置值
+ * 所有单位均按 1024 进制计算
+ *
+ * @param bytes 字节数
+ */
+@SuppressWarnings("unused")
+public record ByteSize(long bytes) {
+    /**
+     * 解析字节大小
+     * 支持的单位为 B, K, KB, KiB, M, MB, MiB, G, GB, GiB, T, TB, TiB (不区分大小写), 没有单位时视为字节
+     *
+     * @param text 文本
+     * @return 字节大小
+     * @throws IllegalArgumentException 如果格式不正确
+     */
+    public static @NotNull ByteSize parse(@NotNull String text) {
+        String value = text.trim().toUpperCase(Locale.ROOT);
+        int end = value.length();
+        while (end > 0 && Character.isLetter(value.charAt(end - 1))) end--;
+
+        String number = value.substring(0, end).trim();
+        String unit = value.substring(end);
+        if (unit.endsWith("IB")) unit = unit.substring(0, unit.length() - 2);
+        else if (unit.length() > 1 && unit.endsWith("B")) unit = unit.substring(0, unit.length() - 1);
+
+        int shift = switch (unit) {
+            case "", "B" -> 0;
+            case "K" -> 10;
+            case "M" -> 20;
+            case "G" -> 30;
+            case "T" -> 40;
+            default -> throw new IllegalArgumentException("未知的字节单位: " + text);
+        };
+
+        try {
+            return new ByteSize(new BigDecimal(number).multiply(BigDecimal.valueOf(1L << shift)).longValueExact());
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IllegalArgumentException("无法解析字节大小: " + text, e);
+        }
+    }
+
+    /**
+     * 以 KiB 为单位获取大小
+     *
+     * @return 大小
+     */
+    public long toKibibytes() {
+        return this.bytes >> 10;
+    }
+
+    /**
+     * 以 MiB 为单位获取大小
+     *
+     * @return 大小
+     */
+    public long toMebibytes() {
+        return this.bytes >> 20;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return this.bytes + "B";
+    }
+}
@@ -0,0 +1,410 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import lombok.SneakyThrows;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * 配置节点与 record / 普通 Java 对象之间的绑定器
+ * 每个类只在首次使用时解析一次结构, 之后通过缓存的 MethodHandle 读写, 不再进行反射查找
+ * record 通过规范构造函数创建, 普通对象需要无参构造函数, 并绑定所有非 static / transient 字段 (包括父类字段)
+ * 键名与字段名相同, 支持嵌套对象, List, Map, 枚举, ConfigurationSection, 标量通过 {@link ConverterRegistry} 转换
+ * 在默认转换注册表中注册了转换器的类型 (例如 {@link ByteSize}) 按标量转换, 不会作为嵌套对象绑定, 注册需要在首次绑定使用该类型的类之前完成
+ *
+ * @param <T> 绑定的类型
+ */
+@SuppressWarnings("unused")
+public final class ConfigBinder<T> {
+    private static final @NotNull ClassValue<ConfigBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected @NotNull ConfigBinder<?> computeValue(@NotNull Class<?> type) {
+            return new ConfigBinder<>(type);
+        }
+    };
+    private static final @NotNull Codec OBJECT = new SimpleCodec(Object.class);
+
+    /**
+     * 获取指定类型的绑定器, 同一个类型只会创建一次
+     *
+     * @param type 绑定的类型
+     * @param <T>  绑定的类型
+     * @return 绑定器
+     */
+    public static @NotNull <T> ConfigBinder<T> of(@NotNull Class<T> type) {
+        // noinspection unchecked
+        return (ConfigBinder<T>) ConfigBinder.BINDERS.get(type);
+    }
+
+    /**
+     * 是否作为嵌套配置节点绑定
+     *
+     * @param type 类型
+     * @return 结果
+     */
+    private static boolean isBean(@NotNull Class<?> type) {
+        if (type.isPrimitive() || type.isArray() || type.isEnum() || type.isInterface()) return false;
+        if (ConfigurationSection.class.isAssignableFrom(type) || StringSection.class.isAssignableFrom(type)) return false;
+        if (ConverterRegistry.getDefault().canConvert(type)) return false;
+        return !type.getName().startsWith("java.");
+    }
+
+    /**
+     * 根据字段的泛型类型创建值编解码器
+     *
+     * @param type 泛型类型
+     * @return 编解码器
+     */
+    private static @NotNull Codec codec(@NotNull Type type) {
+        Class<?> raw = ConfigBinder.rawType(type);
+        Type[] arguments = type instanceof ParameterizedType parameterizedType ? parameterizedType.getActualTypeArguments() : new Type[0];
+
+        if (List.class.isAssignableFrom(raw))
+            return new ListCodec(arguments.length == 1 ? ConfigBinder.codec(arguments[0]) : ConfigBinder.OBJECT);
+        if (Map.class.isAssignableFrom(raw))
+            return new MapCodec(arguments.length == 2 ? ConfigBinder.codec(arguments[1]) : ConfigBinder.OBJECT);
+        if (ConfigurationSection.class.isAssignableFrom(raw)) return new SectionCodec();
+        if (raw.isEnum()) return new EnumCodec(raw);
+        if (ConfigBinder.isBean(raw)) return new BeanCodec(raw);
+        return new SimpleCodec(raw);
+    }
+
+    /**
+     * 获取泛型类型的原始类型
+     *
+     * @param type 泛型类型
+     * @return 原始类型
+     */
+    private static @NotNull Class<?> rawType(@NotNull Type type) {
+        if (type instanceof Class<?> clazz) return clazz;
+        if (type instanceof ParameterizedType parameterizedType) return ConfigBinder.rawType(parameterizedType.getRawType());
+        if (type instanceof WildcardType wildcardType) return ConfigBinder.rawType(wildcardType.getUpperBounds()[0]);
+        return Object.class;
+    }
+
+    /**
+     * 将原始数据包装为配置节点, 不复制数据
+     *
+     * @param raw 原始数据
+     * @return 配置节点, 如果不是配置节点则返回 null
+     */
+    private static @Nullable ConfigurationSection section(@Nullable Object raw) {
+        if (raw instanceof ConfigurationSection section) return section;
+        if (!(raw instanceof Map)) return null;
+
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        configuration.data = new SectionData(raw);
+        return configuration;
+    }
+
+    /**
+     * 获取基本类型的默认值
+     *
+     * @param type 类型
+     * @return 默认值, 非基本类型返回 null
+     */
+    private static @Nullable Object defaultValue(@NotNull Class<?> type) {
+        if (!type.isPrimitive()) return null;
+        return Array.get(Array.newInstance(type, 1), 0);
+    }
+    private final @NotNull Class<T> type;
+    private final @NotNull Property[] properties;
+    /**
+     * record 的规范构造函数, 类型为 (Object[]) -> Object
+     */
+    private final @Nullable MethodHandle canonicalConstructor;
+    /**
+     * 普通对象的无参构造函数, 类型为 () -> Object
+     */
+    private final @Nullable MethodHandle constructor;
+
+    @SneakyThrows
+    private ConfigBinder(@NotNull Class<T> type) {
+        this.type = type;
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        List<Property> properties = new ArrayList<>();
+        if (type.isRecord()) {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] parameterTypes = new Class<?>[components.length];
+            for (int i = 0; i < components.length; i++) {
+                RecordComponent component = components[i];
+                Method accessor = component.getAccessor();
+                accessor.setAccessible(true);
+                parameterTypes[i] = component.getType();
+                properties.add(new Property(
+                        component.getName(),
+                        component.getType(),
+                        ConfigBinder.codec(component.getGenericType()),
+                        lookup.unreflect(accessor).asType(MethodType.methodType(Object.class, Object.class)),
+                        null
+                ));
+            }
+
+            Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            this.canonicalConstructor = lookup.unreflectConstructor(constructor)
+                    .asType(MethodType.methodType(Object.class, parameterTypes))
+                    .asSpreader(Object[].class, parameterTypes.length);
+            this.constructor = null;
+        } else {
+            List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass())
+                hierarchy.add(0, clazz);
+
+            for (Class<?> clazz : hierarchy) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+
+                    field.setAccessible(true);
+                    properties.add(new Property(
+                            field.getName(),
+                            field.getType(),
+                            ConfigBinder.codec(field.getGenericType()),
+                            lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class)),
+                            lookup.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class))
+                    ));
+                }
+            }
+
+            MethodHandle constructor = null;
+            try {
+                Constructor<T> noArgsConstructor = type.getDeclaredConstructor();
+                noArgsConstructor.setAccessible(true);
+                constructor = lookup.unreflectConstructor(noArgsConstructor).asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException ignored) {
+            }
+            this.canonicalConstructor = null;
+            this.constructor = constructor;
+        }
+        this.properties = properties.toArray(new Property[0]);
+    }
+
+    /**
+     * 获取绑定的类型
+     *
+     * @return 类型
+     */
+    public @NotNull Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * 从配置节点创建对象
+     * 普通对象中不存在的键会保留字段的初始值, record 中不存在的键为 null 或基本类型的默认值
+     *
+     * @param section 配置节点
+     * @return 对象
+     * @throws IllegalArgumentException 如果普通对象没有无参构造函数
+     */
+    @SneakyThrows
+    public @NotNull T read(@NotNull ConfigurationSection section) {
+        if (this.canonicalConstructor != null) {
+            Object[] args = new Object[this.properties.length];
+            for (int i = 0; i < this.properties.length; i++) {
+                Property property = this.properties[i];
+                Object value = property.codec.read(section.getSectionData(property.path).getData());
+                args[i] = value != null ? value : property.defaultValue;
+            }
+            Object object = this.canonicalConstructor.invokeExact(args);
+            // noinspection unchecked
+            return (T) object;
+        }
+
+        if (this.constructor == null) throw new IllegalArgumentException("绑定的类型没有无参构造函数: " + this.type.getName());
+        Object object = this.constructor.invokeExact();
+        for (Property property : this.properties) {
+            Object value = property.codec.read(section.getSectionData(property.path).getData());
+            if (value != null) // noinspection DataFlowIssue
+                property.setter.invokeExact(object, value);
+        }
+        // noinspection unchecked
+        return (T) object;
+    }
+
+    /**
+     * 将对象写入配置节点
+     * 值为 null 的字段会移除对应的键, 已存在的嵌套配置节点会原地更新以保留注释
+     *
+     * @param section 配置节点
+     * @param object  对象
+     */
+    @SneakyThrows
+    public void write(@NotNull ConfigurationSection section, @NotNull T object) {
+        for (Property property : this.properties) {
+            Object value = property.getter.invokeExact((Object) object);
+
+            if (value != null && property.codec instanceof BeanCodec beanCodec) {
+                ConfigurationSection child = section.getConfigurationSection(property.path.getPath());
+                if (child != null) {
+                    beanCodec.binder().write(child, value);
+                    continue;
+                }
+            }
+            section.set(property.path, property.codec.write(value));
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ConfigBinder(" + this.type.getName() + ")";
+    }
+
+    /**
+     * 值编解码器
+     */
+    private interface Codec {
+        /**
+         * 将配置中的原始数据转换为字段值
+         *
+         * @param raw 原始数据
+         * @return 字段值
+         */
+        @Nullable Object read(@Nullable Object raw);
+
+        /**
+         * 将字段值转换为可以写入配置的值
+         *
+         * @param value 字段值
+         * @return 配置值
+         */
+        @Nullable Object write(@Nullable Object value);
+    }
+
+    /**
+     * 绑定的字段
+     *
+     * @param path         键路径
+     * @param defaultValue 缺失时的默认值
+     * @param codec        值编解码器
+     * @param getter       读取字段的句柄, 类型为 (Object) -> Object
+     * @param setter       写入字段的句柄, 类型为 (Object, Object) -> void, record 为 null
+     */
+    private record Property(
+            @NotNull ConfigPath path,
+            @Nullable Object defaultValue,
+            @NotNull Codec codec,
+            @NotNull MethodHandle getter,
+            @Nullable MethodHandle setter
+    ) {
+        private Property(@NotNull String name, @NotNull Class<?> type, @NotNull Codec codec, @NotNull MethodHandle getter, @Nullable MethodHandle setter) {
+            this(ConfigPath.of(name), ConfigBinder.defaultValue(type), codec, getter, setter);
+        }
+    }
+
+    private record SimpleCodec(@NotNull Class<?> type) implements Codec {
+        @Override
+        public @Nullable Object read(@Nullable Object raw) {
+            return ConverterRegistry.getDefault().convert(raw, this.type);
+        }
+
+        @Override
+        public @Nullable Object write(@Nullable Object value) {
+            return value;
+        }
+    }
+
+    private record EnumCodec(@NotNull Class<?> type) implements Codec {
+        @Override
+        public @Nullable Object read(@Nullable Object raw) {
+            return ConverterRegistry.getDefault().convert(raw, this.type);
+        }
+
+        @Override
+        public @Nullable Object write(@Nullable Object value) {
+            return value instanceof Enum<?> e ? e.name() : value;
+        }
+    }
+
+    private record ListCodec(@NotNull Codec element) implements Codec {
+        @Override
+        public @Nullable Object read(@Nullable Object raw) {
+            if (!(raw instanceof List<?> list)) return null;
+
+            List<Object> result = new ArrayList<>(list.size());
+            for (Object o : list) result.add(this.element.read(o));
+            return result;
+        }
+
+        @Override
+        public @Nullable Object write(@Nullable Object value) {
+            if (!(value instanceof List<?> list)) return value;
+
+            List<Object> result = new ArrayList<>(list.size());
+            for (Object o : list) result.add(this.element.write(o));
+            return result;
+        }
+    }
+
+    private record MapCodec(@NotNull Codec value) implements Codec {
+        @Override
+        public @Nullable Object read(@Nullable Object raw) {
+            ConfigurationSection section = ConfigBinder.section(raw);
+            if (section == null || !(section.getData().getData() instanceof Map<?, ?> map)) return null;
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object data = entry.getValue() instanceof SectionData sectionData ? sectionData.getData() : entry.getValue();
+                result.put(String.valueOf(entry.getKey()), this.value.read(data));
+            }
+            return result;
+        }
+
+        @Override
+        public @Nullable Object write(@Nullable Object value) {
+            if (!(value instanceof Map<?, ?> map)) return value;
+
+            MemoryConfiguration configuration = MemoryConfiguration.empty();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object data = this.value.write(entry.getValue());
+                if (data != null) configuration.set(ConfigPath.of(String.valueOf(entry.getKey())), data);
+            }
+            return configuration;
+        }
+    }
+
+    private record SectionCodec() implements Codec {
+        @Override
+        public @Nullable Object read(@Nullable Object raw) {
+            return ConfigBinder.section(raw);
+        }
+
+        @Override
+        public @Nullable Object write(@Nullable Object value) {
+            return value;
+        }
+    }
+
+    /**
+     * 嵌套对象编解码器, 绑定器在首次使用时才获取, 以支持自引用的类型
+     *
+     * @param type 嵌套对象类型
+     */
+    private record BeanCodec(@NotNull Class<?> type) implements Codec {
+        private @NotNull ConfigBinder<Object> binder() {
+            // noinspection unchecked
+            return (ConfigBinder<Object>) ConfigBinder.of(this.type);
+        }
+
+        @Override
+        public @Nullable Object read(@Nullable Object raw) {
+            ConfigurationSection section = ConfigBinder.section(raw);
+            return section != null ? this.binder().read(section) : null;
+        }
+
+        @Override
+        public @Nullable Object write(@Nullable Object value) {
+            if (value == null) return null;
+
+            MemoryConfiguration configuration = MemoryConfiguration.empty();
+            this.binder().write(configuration, value);
+            return configuration;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+
+@SuppressWarnings("unused")
+public final class ConfigKey<T> {
+    /**
+     * 创建类型化键
+     *
+     * @param path 路径
+     * @param type 目标类型的 Class 对象
+     * @param def  默认值
+     * @param <T>  目标类型
+     * @return 类型化键
+     */
+    public static @NotNull <T> ConfigKey<T> of(@NotNull String path, @NotNull Class<T> type, @Nullable T def) {
+        return new ConfigKey<>(ConfigPath.of(path), type, def);
+    }
+
+    /**
+     * 创建类型化键
+     *
+     * @param path 路径
+     * @param type 目标类型的 Class 对象
+     * @param <T>  目标类型
+     * @return 类型化键
+     */
+    public static @NotNull <T> ConfigKey<T> of(@NotNull String path, @NotNull Class<T> type) {
+        return ConfigKey.of(path, type, null);
+    }
+
+    private final @NotNull ConfigPath path;
+    private final @NotNull Class<T> type;
+    private final @Nullable T def;
+    private volatile @Nullable Binding binding;
+
+    private ConfigKey(@NotNull ConfigPath path, @NotNull Class<T> type, @Nullable T def) {
+        this.path = path;
+        this.type = type;
+        this.def = def;
+    }
+
+    /**
+     * 获取键的路径
+     *
+     * @return 预编译路径
+     */
+    public @NotNull ConfigPath getPath() {
+        return this.path;
+    }
+
+    /**
+     * 获取键的目标类型
+     *
+     * @return 目标类型的 Class 对象
+     */
+    public @NotNull Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * 获取键的默认值
+     *
+     * @return 默认值
+     */
+    public @Nullable T getDefault() {
+        return this.def;
+    }
+
+    /**
+     * 从配置节点读取值
+     * 对于 MemoryConfiguration, 只要结构版本号未变化就直接复用上次解析到的 SectionData 节点, 转换结果缓存在节点上
+     * 每个键只绑定一个配置节点, 读取其他配置节点时不会替换绑定, 绑定的配置节点被回收后才会重新绑定
+     * 通过 {@link SectionData#setData(Object)} 替换某个父节点的 Map 不会递增版本号, 此时需要手动调用 {@link MemoryConfiguration#markDirty()}
+     *
+     * @param section 配置节点
+     * @return 转换后的值, 如果不存在则返回默认值
+     */
+    public @Nullable T get(@NotNull ConfigurationSection section) {
+        if (!(section instanceof MemoryConfiguration memoryConfiguration)) {
+            T value = section.get(this.path, this.type);
+            return value != null ? value : this.def;
+        }
+
+        long version = memoryConfiguration.getVersion();
+        Binding binding = this.binding;
+        SectionData node;
+        if (binding != null && binding.version == version && binding.section.refersTo(section)) node = binding.node;
+        else {
+            node = section.getSectionData(this.path);
+            if (binding == null || binding.section.refersTo(section) || binding.section.refersTo(null))
+                this.binding = new Binding(new WeakReference<>(section), version, node);
+        }
+
+        T value = ConverterRegistry.getDefault().convert(node, this.type);
+        return value != null ? value : this.def;
+    }
+
+    /**
+     * 向配置节点写入值
+     *
+     * @param section 配置节点
+     * @param value   要设定的值, 如果为 null 则会移除该键
+     */
+    public void set(@NotNull ConfigurationSection section, @Nullable T value) {
+        section.set(this.path, value);
+    }
+
+    /**
+     * 检查配置节点中是否存在该键
+     *
+     * @param section 配置节点
+     * @return 如果路径存在值则为 true, 否则为 false
+     */
+    public boolean has(@NotNull ConfigurationSection section) {
+        return section.has(this.path);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ConfigKey(" + this.path + ", " + this.type.getSimpleName() + ")";
+    }
+
+    /**
+     * 键与配置节点的绑定
+     *
+     * @param section 绑定的配置节点, 弱引用以免键长期持有已卸载的配置
+     * @param version 解析时的结构版本号
+     * @param node    解析到的节点
+     */
+    private record Binding(@NotNull WeakReference<ConfigurationSection> section, long version, @NotNull SectionData node) {
+    }
+}
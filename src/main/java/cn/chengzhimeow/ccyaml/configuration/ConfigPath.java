@@ -0,0 +1,126 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@SuppressWarnings("unused")
+public final class ConfigPath {
+    /**
+     * 缓存表的最大容量
+     * 缓存分为新旧两代, 新一代写满一半容量后整体降为旧一代, 旧一代中再次被访问的路径会晋升回新一代
+     * 因此持续使用的路径会一直留在缓存中, 只出现过一次的动态路径最多存活两代后被淘汰
+     */
+    public static final int MAX_CACHE_SIZE = 4096;
+    private static volatile @NotNull Map<String, ConfigPath> currentCache = new ConcurrentHashMap<>();
+    private static volatile @NotNull Map<String, ConfigPath> previousCache = new ConcurrentHashMap<>();
+
+    /**
+     * 获取预编译路径, 最近使用过的相同路径字符串会复用缓存中的实例
+     *
+     * @param path 以 . 分隔的路径
+     * @return 预编译路径
+     */
+    public static @NotNull ConfigPath of(@NotNull String path) {
+        ConfigPath configPath = ConfigPath.currentCache.get(path);
+        if (configPath != null) return configPath;
+
+        configPath = ConfigPath.previousCache.get(path);
+        if (configPath == null) configPath = new ConfigPath(path);
+        return ConfigPath.cache(configPath);
+    }
+
+    /**
+     * 将路径放入新一代缓存, 新一代已满时先进行换代
+     *
+     * @param configPath 预编译路径
+     * @return 缓存中的实例
+     */
+    private static @NotNull ConfigPath cache(@NotNull ConfigPath configPath) {
+        Map<String, ConfigPath> current = ConfigPath.currentCache;
+        if (current.size() >= ConfigPath.MAX_CACHE_SIZE / 2) {
+            synchronized (ConfigPath.class) {
+                if (ConfigPath.currentCache == current) {
+                    ConfigPath.previousCache = current;
+                    ConfigPath.currentCache = new ConcurrentHashMap<>();
+                }
+                current = ConfigPath.currentCache;
+            }
+        }
+
+        ConfigPath previous = current.putIfAbsent(configPath.path, configPath);
+        return previous != null ? previous : configPath;
+    }
+
+    /**
+     * 清空路径缓存
+     */
+    public static synchronized void clearCache() {
+        ConfigPath.currentCache = new ConcurrentHashMap<>();
+        ConfigPath.previousCache = new ConcurrentHashMap<>();
+    }
+
+    private final @NotNull String path;
+    final @NotNull String[] keys;
+
+    private ConfigPath(@NotNull String path) {
+        this.path = path;
+        this.keys = path.split("\\.");
+    }
+
+    /**
+     * 获取原始路径字符串
+     *
+     * @return 路径字符串
+     */
+    public @NotNull String getPath() {
+        return this.path;
+    }
+
+    /**
+     * 获取路径层级数
+     *
+     * @return 层级数
+     */
+    public int length() {
+        return this.keys.length;
+    }
+
+    /**
+     * 获取指定层级的键
+     *
+     * @param index 层级索引
+     * @return 键
+     */
+    public @NotNull String getKey(int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * 获取所有层级的键
+     *
+     * @return 键数组的副本
+     */
+    public @NotNull String[] getKeys() {
+        return Arrays.copyOf(this.keys, this.keys.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConfigPath target)) return false;
+        return this.path.equals(target.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.path.hashCode();
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return this.path;
+    }
+}
@@ -4,6 +4,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,6 +49,14 @@ public interface ConfigurationSection {
      */
     void set(@NotNull String path, @Nullable Object value);
 
+    /**
+     * 设定指定预编译路径的值
+     *
+     * @param path  预编译路径
+     * @param value 要设定的值, 如果为 null 则会移除该键
+     */
+    void set(@NotNull ConfigPath path, @Nullable Object value);
+
     /**
      * 获取指定路径的 SectionData 对象
      *
@@ -55,6 +65,14 @@ public interface ConfigurationSection {
      */
     @NotNull SectionData getSectionData(String path);
 
+    /**
+     * 获取指定预编译路径的 SectionData 对象
+     *
+     * @param path 预编译路径
+     * @return 包含数据和注释的 SectionData 对象, 如果路径不存在则返回一个空的 SectionData
+     */
+    @NotNull SectionData getSectionData(@NotNull ConfigPath path);
+
     /**
      * 设定指定路径的块注释 (在键值对上方)
      *
@@ -140,28 +158,20 @@ public interface ConfigurationSection {
      * @return 转换后的值, 如果路径不存在或类型不匹配可能返回 null 或抛出 ClassCastException
      */
     default @Nullable <T> T get(@NotNull String path, @NotNull Class<T> clazz) {
-        Object data = this.getSectionData(path).getData();
-        if (data == null) return null;
-
-        if (clazz != StringSection.class && data instanceof StringSection str) data = str.getValue();
-        else if (clazz == String.class) {
-            if (!(data instanceof String)) data = data.toString();
-        } else if (clazz == Long.class) {
-            if (data instanceof Integer v) data = v.longValue();
-        } else if (clazz == Integer.class) {
-            if (data instanceof Double v) data = v.intValue();
-        } else if (clazz == Short.class) {
-            if (data instanceof Integer v) data = v.shortValue();
-            else if (data instanceof Double v) data = v.shortValue();
-        } else if (clazz == Double.class) {
-            if (data instanceof Integer v) data = v.doubleValue();
-        } else if (clazz == Float.class) {
-            if (data instanceof Integer v) data = v.floatValue();
-            else if (data instanceof Double v) data = v.floatValue();
-        }
+        return this.get(ConfigPath.of(path), clazz);
+    }
 
-        // noinspection unchecked
-        return (T) data;
+    /**
+     * 获取指定预编译路径的值并转换为指定类型
+     * 转换由 {@link ConverterRegistry#getDefault()} 完成, 转换结果会缓存在节点上直到该节点的值被替换
+     *
+     * @param path  预编译路径
+     * @param clazz 目标类型的 Class 对象
+     * @param <T>   目标类型
+     * @return 转换后的值, 如果路径不存在或无法转换则返回 null, 没有可用的转换器时抛出 ClassCastException
+     */
+    default @Nullable <T> T get(@NotNull ConfigPath path, @NotNull Class<T> clazz) {
+        return ConverterRegistry.getDefault().convert(this.getSectionData(path), clazz);
     }
 
     /**
@@ -174,6 +184,16 @@ public interface ConfigurationSection {
         return this.get(path, Object.class);
     }
 
+    /**
+     * 获取指定预编译路径的 Object 类型的值
+     *
+     * @param path 预编译路径
+     * @return Object 值, 如果不存在则为 null
+     */
+    default @Nullable Object get(@NotNull ConfigPath path) {
+        return this.get(path, Object.class);
+    }
+
     /**
      * 检查指定路径是否存在值
      *
@@ -184,6 +204,16 @@ public interface ConfigurationSection {
         return this.getSectionData(path).getData() != null;
     }
 
+    /**
+     * 检查指定预编译路径是否存在值
+     *
+     * @param path 预编译路径
+     * @return 如果路径存在值则为 true, 否则为 false
+     */
+    default boolean has(@NotNull ConfigPath path) {
+        return this.getSectionData(path).getData() != null;
+    }
+
     /**
      * 获取指定路径的字符串值
      *
@@ -224,11 +254,26 @@ public interface ConfigurationSection {
      * @param path 路径
      * @return 短整数值, 如果不存在则返回 0
      */
-    @SuppressWarnings("DataFlowIssue")
     default short getShort(@NotNull String path) {
         return this.getShort(path, (short) 0);
     }
 
+    /**
+     * 获取指定路径的短整数值, 直接读取节点中的原始值而不经过装箱转换, 字符串值会通过 ConverterRegistry 解析
+     *
+     * @param path 路径
+     * @param def  默认值
+     * @return 短整数值, 如果不存在, 类型不匹配, 超出范围或带有小数部分则返回默认值
+     */
+    default short getShort(@NotNull String path, short def) {
+        SectionData data = this.getSectionData(path);
+        Object raw = data.getData();
+        if (!(raw instanceof Number || raw instanceof String || raw instanceof StringSection)) return def;
+
+        Short value = ConverterRegistry.getDefault().convert(data, Short.class);
+        return value != null ? value : def;
+    }
+
     /**
      * 获取指定路径的整数值
      *
@@ -247,11 +292,27 @@ public interface ConfigurationSection {
      * @param path 路径
      * @return 整数值, 如果不存在则返回 0
      */
-    @SuppressWarnings("DataFlowIssue")
     default int getInt(@NotNull String path) {
         return this.getInt(path, 0);
     }
 
+    /**
+     * 获取指定路径的整数值, 直接读取节点中的原始值而不经过装箱转换, 字符串值会通过 ConverterRegistry 解析
+     *
+     * @param path 路径
+     * @param def  默认值
+     * @return 整数值, 如果不存在, 类型不匹配, 超出范围或带有小数部分则返回默认值
+     */
+    default int getInt(@NotNull String path, int def) {
+        SectionData data = this.getSectionData(path);
+        Object raw = data.getData();
+        if (raw instanceof Integer value) return value;
+        if (!(raw instanceof Number || raw instanceof String || raw instanceof StringSection)) return def;
+
+        Integer value = ConverterRegistry.getDefault().convert(data, Integer.class);
+        return value != null ? value : def;
+    }
+
     /**
      * 获取指定路径的长整数值
      *
@@ -270,13 +331,32 @@ public interface ConfigurationSection {
      * @param path 路径
      * @return 长整数值, 如果不存在则返回 0L
      */
-    @SuppressWarnings("DataFlowIssue")
     default long getLong(@NotNull String path) {
         return this.getLong(path, 0L);
     }
 
+    /**
+     * 获取指定路径的长整数值, 直接读取节点中的原始值而不经过装箱转换, 字符串值会通过 ConverterRegistry 解析
+     *
+     * @param path 路径
+     * @param def  默认值
+     * @return 长整数值, 如果不存在, 类型不匹配, 超出范围或带有小数部分则返回默认值
+     */
+    default long getLong(@NotNull String path, long def) {
+        SectionData data = this.getSectionData(path);
+        Object raw = data.getData();
+        if (raw instanceof Long value) return value;
+        if (raw instanceof Integer value) return value;
+        if (!(raw instanceof Number || raw instanceof String || raw instanceof StringSection)) return def;
+
+        Long value = ConverterRegistry.getDefault().convert(data, Long.class);
+        return value != null ? value : def;
+    }
+
     /**
      * 获取指定路径的布尔值
+     * 字符串值不区分大小写, true / yes / on 解析为 true, false / no / off 解析为 false
+     * 因此加了引号的 "yes" 或 "on" 也会得到 true, 而不是作为无法识别的字符串返回默认值
      *
      * @param path 路径
      * @param def  默认值
@@ -293,11 +373,27 @@ public interface ConfigurationSection {
      * @param path 路径
      * @return 布尔值, 如果不存在则返回 false
      */
-    @SuppressWarnings("DataFlowIssue")
     default boolean getBoolean(@NotNull String path) {
         return this.getBoolean(path, false);
     }
 
+    /**
+     * 获取指定路径的布尔值, 直接读取节点中的原始值而不经过装箱转换, 字符串值会通过 ConverterRegistry 解析
+     * 加了引号的 "yes" / "on" 等字符串同样会解析为布尔值, 规则见 {@link #getBoolean(String, Boolean)}
+     *
+     * @param path 路径
+     * @param def  默认值
+     * @return 布尔值, 如果不存在或类型不匹配则返回默认值
+     */
+    default boolean getBoolean(@NotNull String path, boolean def) {
+        SectionData data = this.getSectionData(path);
+        if (data.getData() instanceof Boolean value) return value;
+        if (!(data.getData() instanceof String || data.getData() instanceof StringSection)) return def;
+
+        Boolean value = ConverterRegistry.getDefault().convert(data, Boolean.class);
+        return value != null ? value : def;
+    }
+
     /**
      * 获取指定路径的双精度浮点数值
      *
@@ -316,11 +412,26 @@ public interface ConfigurationSection {
      * @param path 路径
      * @return 双精度浮点数值, 如果不存在则返回 0.0
      */
-    @SuppressWarnings("DataFlowIssue")
     default double getDouble(@NotNull String path) {
         return this.getDouble(path, 0.0);
     }
 
+    /**
+     * 获取指定路径的双精度浮点数值, 直接读取节点中的原始值而不经过装箱转换, 字符串值会通过 ConverterRegistry 解析
+     *
+     * @param path 路径
+     * @param def  默认值
+     * @return 双精度浮点数值, 如果不存在或类型不匹配则返回默认值
+     */
+    default double getDouble(@NotNull String path, double def) {
+        SectionData data = this.getSectionData(path);
+        if (data.getData() instanceof Number value) return value.doubleValue();
+        if (!(data.getData() instanceof String || data.getData() instanceof StringSection)) return def;
+
+        Double value = ConverterRegistry.getDefault().convert(data, Double.class);
+        return value != null ? value : def;
+    }
+
     /**
      * 获取指定路径的单精度浮点数值
      *
@@ -339,32 +450,40 @@ public interface ConfigurationSection {
      * @param path 路径
      * @return 单精度浮点数值, 如果不存在则返回 0.0f
      */
-    @SuppressWarnings("DataFlowIssue")
     default float getFloat(@NotNull String path) {
         return this.getFloat(path, 0.0f);
     }
 
+    /**
+     * 获取指定路径的单精度浮点数值, 直接读取节点中的原始值而不经过装箱转换, 字符串值会通过 ConverterRegistry 解析
+     *
+     * @param path 路径
+     * @param def  默认值
+     * @return 单精度浮点数值, 如果不存在或类型不匹配则返回默认值
+     */
+    default float getFloat(@NotNull String path, float def) {
+        SectionData data = this.getSectionData(path);
+        if (data.getData() instanceof Number value) return value.floatValue();
+        if (!(data.getData() instanceof String || data.getData() instanceof StringSection)) return def;
+
+        Float value = ConverterRegistry.getDefault().convert(data, Float.class);
+        return value != null ? value : def;
+    }
+
     /**
      * 获取指定路径的列表值
+     * 所有元素都已是指定类型时返回原列表, 否则返回一次性转换所有元素的只读列表 (StringSection 会被解包), 无法转换的元素会被跳过
+     * 转换结果缓存在节点上, 在节点的值被替换前重复调用不会重新转换
      *
      * @param path  路径
      * @param def   默认列表
-     * @param clazz 列表元素的 Class 对象 (由于类型擦除, 此参数仅用于明确意图)
+     * @param clazz 列表元素的 Class 对象
      * @param <T>   列表元素的类型
-     * @return 列表值, 如果不存在则返回默认列表
+     * @return 列表值, 如果不存在或不是列表则返回默认列表
      */
-    @SuppressWarnings("unchecked")
     default @Nullable <T> List<T> getList(@NotNull String path, @Nullable List<T> def, @NotNull Class<T> clazz) {
-        List<T> list = this.get(path, List.class);
-        if (list == null) return def;
-        if (list.isEmpty()) return list;
-
-        if (clazz != StringSection.class && list.get(0) instanceof StringSection)
-            return (List<T>) list.stream()
-                    .map(i -> ((StringSection) i).getValue())
-                    .toList();
-
-        return list;
+        List<T> list = ConverterRegistry.getDefault().convertList(this.getSectionData(path), clazz);
+        return list != null ? list : def;
     }
 
     /**
@@ -490,6 +609,109 @@ public interface ConfigurationSection {
         return this.getFloatList(path, new ArrayList<>());
     }
 
+    /**
+     * 获取指定路径的整数数组, 直接从列表元素中读取原始值, 不会创建装箱的列表
+     * 与 {@link #getList(String, List, Class)} 一致, 无法转换的元素 (如非数值, 超出范围或带有小数部分) 会被跳过
+     *
+     * @param path 路径
+     * @param def  默认数组
+     * @return 整数数组, 如果不存在则返回默认数组
+     */
+    default @Nullable int[] getIntArray(@NotNull String path, @Nullable int[] def) {
+        Object data = this.getSectionData(path).getData();
+        if (!(data instanceof List<?> list)) return def;
+
+        int[] array = new int[list.size()];
+        int size = 0;
+        for (Object element : list) {
+            if (element instanceof Integer value) array[size++] = value;
+            else {
+                Integer value = ConverterRegistry.getDefault().convertElement(element, Integer.class);
+                if (value != null) array[size++] = value;
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * 获取指定路径的整数数组
+     *
+     * @param path 路径
+     * @return 整数数组, 如果不存在则返回一个空数组
+     */
+    default @NotNull int[] getIntArray(@NotNull String path) {
+        return this.getIntArray(path, new int[0]);
+    }
+
+    /**
+     * 获取指定路径的长整数数组, 直接从列表元素中读取原始值, 不会创建装箱的列表
+     * 与 {@link #getList(String, List, Class)} 一致, 无法转换的元素 (如非数值, 超出范围或带有小数部分) 会被跳过
+     *
+     * @param path 路径
+     * @param def  默认数组
+     * @return 长整数数组, 如果不存在则返回默认数组
+     */
+    default @Nullable long[] getLongArray(@NotNull String path, @Nullable long[] def) {
+        Object data = this.getSectionData(path).getData();
+        if (!(data instanceof List<?> list)) return def;
+
+        long[] array = new long[list.size()];
+        int size = 0;
+        for (Object element : list) {
+            if (element instanceof Long value) array[size++] = value;
+            else if (element instanceof Integer value) array[size++] = value;
+            else {
+                Long value = ConverterRegistry.getDefault().convertElement(element, Long.class);
+                if (value != null) array[size++] = value;
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * 获取指定路径的长整数数组
+     *
+     * @param path 路径
+     * @return 长整数数组, 如果不存在则返回一个空数组
+     */
+    default @NotNull long[] getLongArray(@NotNull String path) {
+        return this.getLongArray(path, new long[0]);
+    }
+
+    /**
+     * 获取指定路径的双精度浮点数数组, 直接从列表元素中读取原始值, 不会创建装箱的列表
+     * 与 {@link #getList(String, List, Class)} 一致, 无法转换的元素会被跳过
+     *
+     * @param path 路径
+     * @param def  默认数组
+     * @return 双精度浮点数数组, 如果不存在则返回默认数组
+     */
+    default @Nullable double[] getDoubleArray(@NotNull String path, @Nullable double[] def) {
+        Object data = this.getSectionData(path).getData();
+        if (!(data instanceof List<?> list)) return def;
+
+        double[] array = new double[list.size()];
+        int size = 0;
+        for (Object element : list) {
+            if (element instanceof Number value) array[size++] = value.doubleValue();
+            else {
+                Double value = ConverterRegistry.getDefault().convertElement(element, Double.class);
+                if (value != null) array[size++] = value;
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * 获取指定路径的双精度浮点数数组
+     *
+     * @param path 路径
+     * @return 双精度浮点数数组, 如果不存在则返回一个空数组
+     */
+    default @NotNull double[] getDoubleArray(@NotNull String path) {
+        return this.getDoubleArray(path, new double[0]);
+    }
+
     /**
      * 获取当前配置节点下的所有键
      *
@@ -507,8 +729,56 @@ public interface ConfigurationSection {
         return this.getKeys(false);
     }
 
+    /**
+     * 将当前配置节点绑定为指定类型的对象
+     *
+     * @param type 目标类型, 可以是 record 或带无参构造函数的普通类
+     * @param <T>  目标类型
+     * @return 对象
+     * @see ConfigBinder
+     */
+    default @NotNull <T> T bind(@NotNull Class<T> type) {
+        return ConfigBinder.of(type).read(this);
+    }
+
+    /**
+     * 将对象的所有字段写入当前配置节点
+     *
+     * @param object 对象
+     * @param <T>    对象类型
+     * @see ConfigBinder
+     */
+    default <T> void write(@NotNull T object) {
+        // noinspection unchecked
+        ConfigBinder.of((Class<T>) object.getClass()).write(this, object);
+    }
+
+    /**
+     * 以访问者模式深度优先遍历当前配置节点下的所有键
+     * 直接遍历节点结构, 不构建完整路径字符串, 也不会对每个键重新从根节点查找
+     *
+     * @param visitor 访问者
+     */
+    default void walk(@NotNull SectionVisitor visitor) {
+        Map<?, ?> map = SectionWalker.children(this.getData());
+        if (map != null) SectionWalker.walk(map, new SectionPath(), visitor);
+    }
+
+    /**
+     * 获取深度优先遍历当前配置节点下所有键的迭代器
+     * 配置节点先于其子键返回, 每次返回的都是同一个被复用的条目实例
+     *
+     * @return 迭代器
+     */
+    default @NotNull Iterator<SectionEntry> deepIterator() {
+        Map<?, ?> map = SectionWalker.children(this.getData());
+        return new SectionWalker(map != null ? map : Map.of());
+    }
+
     /**
      * 获取指定路径下的子配置节点
+     * 子节点视图缓存在对应的 SectionData 上, 从同一个节点以相同路径重复获取会返回同一个实例
+     * 该路径被重新设定后会指向新的 SectionData, 因此会创建新的视图
      *
      * @param path 路径
      * @return 子配置节点, 如果路径不存在或不是一个配置节点则返回 null
@@ -518,8 +788,16 @@ public interface ConfigurationSection {
         if (data.getData() instanceof ConfigurationSection section) return section;
         if (!(data.getData() instanceof Map)) return null;
 
-        MemoryConfiguration configuration = new MemoryConfiguration(this, this.getKey(path));
+        MemoryConfiguration.ChildView view = data.cache instanceof MemoryConfiguration.ChildView cached ? cached : null;
+        if (view != null && view.parent() == this && view.path().equals(path)) return view.section();
+
+        ConfigurationSection root = MemoryConfiguration.ChildView.root(this);
+        String key = this.getKey(path);
+        if (view != null && view.root() == root && view.key().equals(key)) return view.section();
+
+        MemoryConfiguration configuration = new MemoryConfiguration(this, key);
         configuration.data = data;
+        data.putCache(new MemoryConfiguration.ChildView(this, path, root, key, configuration));
         return configuration;
     }
 
@@ -0,0 +1,557 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类型转换器注册表
+ * 按 (源类型, 目标类型) 查找转换器, 查找结果通过 ClassValue 缓存, 注册新转换器后缓存整体失效
+ * 源类型没有直接注册的转换器时会依次查找其父类和接口
+ * 没有可用转换器时: 目标为 String 则调用 toString, 目标为枚举且源为 String 则按名称查找, 否则直接强制转换
+ */
+@SuppressWarnings("unused")
+public final class ConverterRegistry {
+    private static final @NotNull TypeConverter<Object, Object> TO_STRING = Object::toString;
+    private static final @NotNull ConverterRegistry DEFAULT = ConverterRegistry.withDefaults();
+
+    /**
+     * 获取全局默认注册表, ConfigurationSection 的所有类型转换都使用该注册表
+     *
+     * @return 注册表
+     */
+    public static @NotNull ConverterRegistry getDefault() {
+        return ConverterRegistry.DEFAULT;
+    }
+
+    /**
+     * 创建包含内置转换器的注册表
+     * 内置转换包括数值类型之间的互转, String 到数值 / Boolean / Character / UUID / Duration / ByteSize, 以及数值到 Duration / ByteSize
+     * 转换为整数类型时会检查范围, 超出目标类型范围或带有小数部分的值转换结果为 null, 不会被截断
+     *
+     * @return 注册表
+     */
+    public static @NotNull ConverterRegistry withDefaults() {
+        ConverterRegistry registry = new ConverterRegistry();
+
+        registry.register(Number.class, Integer.class, ConverterRegistry::toInt);
+        registry.register(Number.class, Long.class, ConverterRegistry::toLong);
+        registry.register(Number.class, Short.class, ConverterRegistry::toShort);
+        registry.register(Number.class, Byte.class, ConverterRegistry::toByte);
+        registry.register(Number.class, Double.class, Number::doubleValue);
+        registry.register(Number.class, Float.class, Number::floatValue);
+        registry.register(Number.class, BigInteger.class, ConverterRegistry::toBigInteger);
+        registry.register(Number.class, BigDecimal.class, value -> new BigDecimal(value.toString()));
+        registry.register(Number.class, Duration.class, value -> {
+            Long millis = ConverterRegistry.toLong(value);
+            return millis != null ? Duration.ofMillis(millis) : null;
+        });
+        registry.register(Number.class, ByteSize.class, value -> {
+            Long bytes = ConverterRegistry.toLong(value);
+            return bytes != null ? new ByteSize(bytes) : null;
+        });
+
+        registry.register(String.class, Integer.class, value -> ConverterRegistry.parseNumber(value, ConverterRegistry::toInt));
+        registry.register(String.class, Long.class, value -> ConverterRegistry.parseNumber(value, ConverterRegistry::toLong));
+        registry.register(String.class, Short.class, value -> ConverterRegistry.parseNumber(value, ConverterRegistry::toShort));
+        registry.register(String.class, Byte.class, value -> ConverterRegistry.parseNumber(value, ConverterRegistry::toByte));
+        registry.register(String.class, Double.class, value -> ConverterRegistry.parseNumber(value, Number::doubleValue));
+        registry.register(String.class, Float.class, value -> ConverterRegistry.parseNumber(value, Number::floatValue));
+        registry.register(String.class, BigInteger.class, value -> ConverterRegistry.parseNumber(value, ConverterRegistry::toBigInteger));
+        registry.register(String.class, BigDecimal.class, value -> ConverterRegistry.parseNumber(value, number -> new BigDecimal(number.toString())));
+        registry.register(String.class, Boolean.class, ConverterRegistry::parseBoolean);
+        registry.register(String.class, Character.class, value -> value.length() == 1 ? value.charAt(0) : null);
+        registry.register(String.class, UUID.class, value -> {
+            try {
+                return UUID.fromString(value.trim());
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        });
+        registry.register(String.class, Duration.class, ConverterRegistry::parseDuration);
+        registry.register(String.class, ByteSize.class, value -> {
+            try {
+                return ByteSize.parse(value);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        });
+
+        return registry;
+    }
+
+    /**
+     * 将数值精确转换为长整数
+     *
+     * @param value 数值
+     * @param min   允许的最小值
+     * @param max   允许的最大值
+     * @return 长整数, 带有小数部分或超出范围时返回 null
+     */
+    private static @Nullable Long toLongExact(@NotNull Number value, long min, long max) {
+        long result;
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) result = value.longValue();
+        else {
+            try {
+                result = ConverterRegistry.toBigDecimal(value).longValueExact();
+            } catch (ArithmeticException | NumberFormatException e) {
+                return null;
+            }
+        }
+        return result >= min && result <= max ? result : null;
+    }
+
+    /**
+     * 将数值转换为 BigDecimal, 浮点数按其最短的十进制表示转换
+     *
+     * @param value 数值
+     * @return BigDecimal
+     * @throws NumberFormatException 如果数值为 NaN 或无穷大
+     */
+    private static @NotNull BigDecimal toBigDecimal(@NotNull Number value) {
+        if (value instanceof BigDecimal decimal) return decimal;
+        if (value instanceof BigInteger integer) return new BigDecimal(integer);
+        if (value instanceof Double || value instanceof Float) return BigDecimal.valueOf(value.doubleValue());
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * 将数值精确转换为整数
+     *
+     * @param value 数值
+     * @return 整数, 带有小数部分或超出范围时返回 null
+     */
+    static @Nullable Integer toInt(@NotNull Number value) {
+        if (value instanceof Integer integer) return integer;
+        Long result = ConverterRegistry.toLongExact(value, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return result != null ? result.intValue() : null;
+    }
+
+    /**
+     * 将数值精确转换为长整数
+     *
+     * @param value 数值
+     * @return 长整数, 带有小数部分或超出范围时返回 null
+     */
+    static @Nullable Long toLong(@NotNull Number value) {
+        return ConverterRegistry.toLongExact(value, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 将数值精确转换为短整数
+     *
+     * @param value 数值
+     * @return 短整数, 带有小数部分或超出范围时返回 null
+     */
+    private static @Nullable Short toShort(@NotNull Number value) {
+        Long result = ConverterRegistry.toLongExact(value, Short.MIN_VALUE, Short.MAX_VALUE);
+        return result != null ? result.shortValue() : null;
+    }
+
+    /**
+     * 将数值精确转换为字节
+     *
+     * @param value 数值
+     * @return 字节, 带有小数部分或超出范围时返回 null
+     */
+    private static @Nullable Byte toByte(@NotNull Number value) {
+        Long result = ConverterRegistry.toLongExact(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        return result != null ? result.byteValue() : null;
+    }
+
+    /**
+     * 将数值精确转换为 BigInteger
+     *
+     * @param value 数值
+     * @return BigInteger, 带有小数部分时返回 null
+     */
+    private static @Nullable BigInteger toBigInteger(@NotNull Number value) {
+        if (value instanceof BigInteger integer) return integer;
+        try {
+            return ConverterRegistry.toBigDecimal(value).toBigIntegerExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 解析数值字符串
+     *
+     * @param value     字符串
+     * @param converter 数值转换
+     * @param <T>       目标类型
+     * @return 转换后的值, 格式不正确或无法精确转换时返回 null
+     */
+    private static <T> @Nullable T parseNumber(@NotNull String value, @NotNull TypeConverter<Number, T> converter) {
+        String text = value.trim();
+        Number number;
+        try {
+            number = Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                number = new BigDecimal(text);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+        return converter.convert(number);
+    }
+
+    /**
+     * 解析布尔字符串, 支持 true / false / yes / no / on / off
+     *
+     * @param value 字符串
+     * @return 布尔值, 格式不正确时返回 null
+     */
+    private static @Nullable Boolean parseBoolean(@NotNull String value) {
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on" -> true;
+            case "false", "no", "off" -> false;
+            default -> null;
+        };
+    }
+
+    /**
+     * 解析时长字符串
+     * 支持 ISO-8601 格式 (如 PT1M30S) 以及由数字和单位组成的简写 (如 1h30m, 500ms), 单位为 ms / s / m / h / d, 没有单位的数字视为毫秒
+     *
+     * @param value 字符串
+     * @return 时长, 格式不正确时返回 null
+     */
+    private static @Nullable Duration parseDuration(@NotNull String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) return null;
+        if (text.startsWith("p") || text.startsWith("-p")) {
+            try {
+                return Duration.parse(text);
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+
+        Duration duration = Duration.ZERO;
+        int index = 0;
+        while (index < text.length()) {
+            int start = index;
+            while (index < text.length() && (Character.isDigit(text.charAt(index)) || text.charAt(index) == '.')) index++;
+            if (start == index) return null;
+            BigDecimal amount;
+            try {
+                amount = new BigDecimal(text.substring(start, index));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+
+            while (index < text.length() && text.charAt(index) == ' ') index++;
+            int unitStart = index;
+            while (index < text.length() && Character.isLetter(text.charAt(index))) index++;
+            long nanos = switch (text.substring(unitStart, index)) {
+                case "", "ms" -> 1_000_000L;
+                case "s" -> 1_000_000_000L;
+                case "m" -> 60_000_000_000L;
+                case "h" -> 3_600_000_000_000L;
+                case "d" -> 86_400_000_000_000L;
+                default -> -1;
+            };
+            if (nanos == -1) return null;
+            duration = duration.plusNanos(amount.multiply(BigDecimal.valueOf(nanos)).longValue());
+            while (index < text.length() && text.charAt(index) == ' ') index++;
+        }
+        return duration;
+    }
+
+    /**
+     * 获取基本类型对应的包装类型
+     *
+     * @param type 类型
+     * @return 包装类型
+     */
+    private static @NotNull Class<?> box(@NotNull Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        return MethodType.methodType(type).wrap().returnType();
+    }
+    /**
+     * 目标类型 -> 源类型 -> 转换器
+     */
+    private final @NotNull Map<Class<?>, Map<Class<?>, TypeConverter<?, ?>>> converterMap = new ConcurrentHashMap<>();
+    /**
+     * 目标类型 -> 源类型 -> 实际使用的转换器
+     */
+    private volatile @NotNull ClassValue<ClassValue<TypeConverter<Object, Object>>> dispatch = this.newDispatch();
+
+    /**
+     * 创建不包含内置转换器的注册表
+     */
+    public ConverterRegistry() {
+    }
+
+    /**
+     * 注册转换器, 覆盖相同源类型和目标类型的已有转换器
+     *
+     * @param source    源类型, 值为其子类时同样适用
+     * @param target    目标类型
+     * @param converter 转换器
+     * @param <S>       源类型
+     * @param <T>       目标类型
+     */
+    public <S, T> void register(@NotNull Class<S> source, @NotNull Class<T> target, @NotNull TypeConverter<? super S, ? extends T> converter) {
+        this.converterMap.computeIfAbsent(ConverterRegistry.box(target), key -> new ConcurrentHashMap<>()).put(ConverterRegistry.box(source), converter);
+        this.dispatch = this.newDispatch();
+    }
+
+    /**
+     * 移除转换器
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     */
+    public void unregister(@NotNull Class<?> source, @NotNull Class<?> target) {
+        Map<Class<?>, TypeConverter<?, ?>> sourceMap = this.converterMap.get(ConverterRegistry.box(target));
+        if (sourceMap == null || sourceMap.remove(ConverterRegistry.box(source)) == null) return;
+        this.dispatch = this.newDispatch();
+    }
+
+    /**
+     * 将值转换为目标类型
+     *
+     * @param value  值
+     * @param target 目标类型, 基本类型会被视为对应的包装类型
+     * @param <T>    目标类型
+     * @return 转换后的值, 值为 null 或转换器无法转换时返回 null
+     * @throws ClassCastException 如果没有可用的转换器且值不是目标类型
+     */
+    public <T> @Nullable T convert(@Nullable Object value, @NotNull Class<T> target) {
+        if (value == null) return null;
+        Class<?> type = ConverterRegistry.box(target);
+
+        if (type != StringSection.class && value instanceof StringSection str) value = str.getValue();
+        if (value == null || type.isInstance(value)) // noinspection unchecked
+            return (T) value;
+
+        // noinspection unchecked
+        return (T) this.find(value.getClass(), type).convert(value);
+    }
+
+    /**
+     * 将节点的值转换为目标类型
+     * 需要转换的结果会缓存在节点上, 在节点的值被替换前重复读取不会再次转换
+     *
+     * @param data   节点
+     * @param target 目标类型, 基本类型会被视为对应的包装类型
+     * @param <T>    目标类型
+     * @return 转换后的值, 值为 null 或转换器无法转换时返回 null
+     * @throws ClassCastException 如果没有可用的转换器且值不是目标类型
+     */
+    public <T> @Nullable T convert(@NotNull SectionData data, @NotNull Class<T> target) {
+        Object raw = data.getData();
+        if (raw == null) return null;
+        Class<?> type = ConverterRegistry.box(target);
+
+        Object value = raw;
+        if (type != StringSection.class && value instanceof StringSection str) value = str.getValue();
+        if (value == null || type.isInstance(value)) // noinspection unchecked
+            return (T) value;
+
+        TypeConverter<Object, Object> converter = this.find(value.getClass(), type);
+        if (data.cache instanceof Conversion conversion && conversion.raw == raw && conversion.target == type && conversion.converter == converter)
+            // noinspection unchecked
+            return (T) conversion.value;
+
+        Object result = converter.convert(value);
+        data.putCache(new Conversion(raw, type, converter, result));
+        // noinspection unchecked
+        return (T) result;
+    }
+
+    /**
+     * 将节点中的列表按元素类型读取
+     * 所有元素都已是目标类型时直接返回原列表, 否则一次性转换所有元素并返回只读列表 (StringSection 会被解包)
+     * 无法转换为目标类型的元素会被跳过, 原列表中的 null 会被保留
+     * 结果会缓存在节点上, 在节点的值被替换前重复读取不会再次转换, 直接修改原列表的内容不会使缓存失效
+     *
+     * @param data        节点
+     * @param elementType 元素类型
+     * @param <T>         元素类型
+     * @return 列表, 如果节点的值不是列表则返回 null
+     */
+    public <T> @Nullable List<T> convertList(@NotNull SectionData data, @NotNull Class<T> elementType) {
+        if (!(data.getData() instanceof List<?> list)) return null;
+        Class<?> type = ConverterRegistry.box(elementType);
+
+        if (data.cache instanceof ListView view && view.raw == list && view.elementType == type) // noinspection unchecked
+            return (List<T>) view.list;
+
+        List<?> result = list;
+        for (Object element : list) {
+            if (element == null) continue;
+            if (!type.isInstance(element) || (type != StringSection.class && element instanceof StringSection)) {
+                result = this.convertElements(list, type);
+                break;
+            }
+        }
+
+        data.putCache(new ListView(list, type, result));
+        // noinspection unchecked
+        return (List<T>) result;
+    }
+
+    /**
+     * 转换列表中的所有元素, 跳过无法转换的元素
+     *
+     * @param list        原列表
+     * @param elementType 元素类型
+     * @return 只读列表
+     */
+    private @NotNull List<?> convertElements(@NotNull List<?> list, @NotNull Class<?> elementType) {
+        List<Object> result = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element == null) {
+                result.add(null);
+                continue;
+            }
+
+            Object value = this.convertElement(element, elementType);
+            if (value != null) result.add(value);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * 转换单个列表元素, 无法转换时返回 null 而不是抛出异常
+     *
+     * @param element     元素
+     * @param elementType 元素类型
+     * @param <T>         元素类型
+     * @return 转换后的值, 元素为 null 或无法转换时返回 null
+     */
+    <T> @Nullable T convertElement(@Nullable Object element, @NotNull Class<T> elementType) {
+        try {
+            return this.convert(element, elementType);
+        } catch (ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 查找转换器, 结果按 (源类型, 目标类型) 缓存
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @return 转换器
+     */
+    public @NotNull TypeConverter<Object, Object> find(@NotNull Class<?> source, @NotNull Class<?> target) {
+        return this.dispatch.get(ConverterRegistry.box(target)).get(source);
+    }
+
+    /**
+     * 检查是否注册了以指定类型为目标的转换器
+     *
+     * @param target 目标类型, 基本类型会被视为对应的包装类型
+     * @return 结果
+     */
+    public boolean canConvert(@NotNull Class<?> target) {
+        Map<Class<?>, TypeConverter<?, ?>> sourceMap = this.converterMap.get(ConverterRegistry.box(target));
+        return sourceMap != null && !sourceMap.isEmpty();
+    }
+
+    /**
+     * 创建新的分派缓存
+     *
+     * @return 分派缓存
+     */
+    private @NotNull ClassValue<ClassValue<TypeConverter<Object, Object>>> newDispatch() {
+        return new ClassValue<>() {
+            @Override
+            protected @NotNull ClassValue<TypeConverter<Object, Object>> computeValue(@NotNull Class<?> target) {
+                return new ClassValue<>() {
+                    @Override
+                    protected @NotNull TypeConverter<Object, Object> computeValue(@NotNull Class<?> source) {
+                        return ConverterRegistry.this.resolve(source, target);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * 解析实际使用的转换器
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @return 转换器
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private @NotNull TypeConverter<Object, Object> resolve(@NotNull Class<?> source, @NotNull Class<?> target) {
+        if (target.isAssignableFrom(source)) return value -> value;
+
+        Map<Class<?>, TypeConverter<?, ?>> sourceMap = this.converterMap.get(target);
+        if (sourceMap != null) {
+            // 按广度优先顺序查找源类型, 父类和接口
+            Deque<Class<?>> queue = new ArrayDeque<>();
+            Set<Class<?>> visited = new HashSet<>();
+            queue.add(source);
+            while (!queue.isEmpty()) {
+                Class<?> type = queue.poll();
+                if (!visited.add(type)) continue;
+
+                TypeConverter<?, ?> converter = sourceMap.get(type);
+                if (converter != null) return (TypeConverter<Object, Object>) converter;
+
+                if (type.getSuperclass() != null) queue.add(type.getSuperclass());
+                queue.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+
+        if (target == String.class) return ConverterRegistry.TO_STRING;
+        if (target.isEnum() && source == String.class) return value -> {
+            String name = ((String) value).trim();
+            try {
+                return Enum.valueOf((Class<? extends Enum>) target, name);
+            } catch (IllegalArgumentException e) {
+                try {
+                    return Enum.valueOf((Class<? extends Enum>) target, name.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ex) {
+                    return null;
+                }
+            }
+        };
+        return target::cast;
+    }
+
+    /**
+     * 节点上缓存的列表读取结果
+     *
+     * @param raw         读取时节点的原始列表
+     * @param elementType 元素类型
+     * @param list        原列表或转换后的只读列表
+     */
+    record ListView(
+            @NotNull List<?> raw,
+            @NotNull Class<?> elementType,
+            @NotNull List<?> list
+    ) {
+    }
+
+    /**
+     * 节点上缓存的转换结果
+     *
+     * @param raw       转换时节点的原始值
+     * @param target    目标类型
+     * @param converter 使用的转换器
+     * @param value     转换结果
+     */
+    record Conversion(
+            @NotNull Object raw,
+            @NotNull Class<?> target,
+            @NotNull TypeConverter<Object, Object> converter,
+            @Nullable Object value
+    ) {
+    }
+}
@@ -0,0 +1,302 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * 只读配置快照
+ * 每个节点以键数组 + 值数组 + 开放寻址哈希表存储, 不保留注释, 标量在冻结时即完成解析
+ * 所有字段均为 final, 节点既不保存注释也不写入类型转换等派生缓存, 可以在多个线程之间无锁共享
+ */
+@SuppressWarnings("unused")
+public final class FrozenConfiguration implements ConfigurationSection {
+    private static final @NotNull SectionData EMPTY = new FrozenSectionData(null);
+
+    /**
+     * 冻结配置节点
+     *
+     * @param section 配置节点
+     * @return 只读快照
+     */
+    public static @NotNull FrozenConfiguration of(@NotNull ConfigurationSection section) {
+        if (section instanceof FrozenConfiguration frozenConfiguration) return frozenConfiguration;
+        return new FrozenConfiguration(section.getParent(), section.getPath(), section.getData().getData());
+    }
+
+    /**
+     * 冻结单个值
+     *
+     * @param value 值
+     * @return 只读值
+     */
+    private static @Nullable Object freezeValue(@Nullable Object value) {
+        if (value instanceof FrozenConfiguration) return value;
+        if (value instanceof ConfigurationSection section) return new FrozenConfiguration(null, null, section.getData().getData());
+        if (value instanceof StringSectionData) return value;
+        if (value instanceof StringSection str) return new StringSectionData(str.getValue());
+        if (value instanceof List<?> list) {
+            List<Object> out = new ArrayList<>(list.size());
+            for (Object o : list) out.add(FrozenConfiguration.freezeValue(o));
+            return Collections.unmodifiableList(out);
+        }
+        return value;
+    }
+    private final @Nullable ConfigurationSection parent;
+    private final @Nullable String path;
+    private final @NotNull String[] keys;
+    private final @NotNull SectionData[] values;
+    private final @NotNull int[] table;
+    private final @NotNull SectionData data;
+    private volatile @Nullable Set<String> deepKeys;
+
+    private FrozenConfiguration(@Nullable ConfigurationSection parent, @Nullable String path, @Nullable Object source) {
+        this.parent = parent;
+        this.path = path;
+
+        Map<?, ?> map = source instanceof Map<?, ?> m ? m : Map.of();
+        String[] keys = new String[map.size()];
+        SectionData[] values = new SectionData[map.size()];
+
+        int size = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!(entry.getKey() instanceof String key)) continue;
+            Object value = entry.getValue() instanceof SectionData sectionData ? sectionData.getData() : entry.getValue();
+
+            if (value instanceof Map<?, ?>) value = new FrozenConfiguration(this, this.getKey(key), value);
+            else value = FrozenConfiguration.freezeValue(value);
+
+            keys[size] = key;
+            values[size] = new FrozenSectionData(value);
+            size++;
+        }
+        this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        this.values = size == values.length ? values : Arrays.copyOf(values, size);
+
+        // 哈希表容量为不小于两倍键数的 2 的幂, 槽位存储 index + 1, 0 表示空槽
+        int capacity = Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1;
+        this.table = new int[capacity];
+        for (int i = 0; i < size; i++) {
+            int slot = this.keys[i].hashCode() & (capacity - 1);
+            while (this.table[slot] != 0) slot = (slot + 1) & (capacity - 1);
+            this.table[slot] = i + 1;
+        }
+
+        this.data = new FrozenSectionData(new ArrayMap());
+    }
+
+    /**
+     * 查找直接子键的位置
+     *
+     * @param key 键
+     * @return 位置, 如果不存在则返回 -1
+     */
+    private int indexOf(@NotNull String key) {
+        int mask = this.table.length - 1;
+        int slot = key.hashCode() & mask;
+        int index;
+        while ((index = this.table[slot]) != 0) {
+            if (this.keys[index - 1].equals(key)) return index - 1;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    @Override
+    public @Nullable ConfigurationSection getParent() {
+        return this.parent;
+    }
+
+    @Override
+    public @Nullable String getPath() {
+        return this.path;
+    }
+
+    @Override
+    public @NotNull SectionData getData() {
+        return this.data;
+    }
+
+    @Override
+    public @NotNull String getKey(String path) {
+        if (this.path == null || this.path.isEmpty()) return path;
+        return this.path + "." + path;
+    }
+
+    @Override
+    public void set(@NotNull String path, @Nullable Object value) {
+        throw new UnsupportedOperationException("无法修改只读配置: " + this.getKey(path));
+    }
+
+    @Override
+    public void set(@NotNull ConfigPath path, @Nullable Object value) {
+        throw new UnsupportedOperationException("无法修改只读配置: " + this.getKey(path.getPath()));
+    }
+
+    @Override
+    public @NotNull SectionData getSectionData(String path) {
+        return this.getSectionData(ConfigPath.of(path));
+    }
+
+    @Override
+    public @NotNull SectionData getSectionData(@NotNull ConfigPath path) {
+        String[] keys = path.keys;
+        int end = keys.length - 1;
+
+        FrozenConfiguration current = this;
+        for (int i = 0; i < end; i++) {
+            int index = current.indexOf(keys[i]);
+            if (index != -1 && current.values[index].getData() instanceof FrozenConfiguration section)
+                current = section;
+            else return FrozenConfiguration.EMPTY;
+        }
+
+        int index = current.indexOf(keys[end]);
+        return index != -1 ? current.values[index] : FrozenConfiguration.EMPTY;
+    }
+
+    @Override
+    public @NotNull Set<String> getKeys(boolean deep) {
+        if (!deep) return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(this.keys)));
+
+        // 快照不可变, 深度键只需计算一次
+        Set<String> deepKeys = this.deepKeys;
+        if (deepKeys == null) {
+            Set<String> set = new LinkedHashSet<>();
+            this.collectKeys(set, null);
+            this.deepKeys = deepKeys = Collections.unmodifiableSet(set);
+        }
+        return deepKeys;
+    }
+
+    /**
+     * 递归收集所有键
+     *
+     * @param set    键集合
+     * @param prefix 键前缀
+     */
+    private void collectKeys(@NotNull Set<String> set, @Nullable String prefix) {
+        for (int i = 0; i < this.keys.length; i++) {
+            String key = prefix == null ? this.keys[i] : prefix + "." + this.keys[i];
+            set.add(key);
+            if (this.values[i].getData() instanceof FrozenConfiguration section) section.collectKeys(set, key);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof FrozenConfiguration target)) return false;
+        return Arrays.equals(this.keys, target.keys) && Arrays.equals(this.values, target.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.keys);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "FrozenConfiguration(path=" + this.path + ", keys=" + Arrays.toString(this.keys) + ")";
+    }
+
+    /**
+     * 只读 SectionData, 不保存注释, 也不缓存类型转换结果, 读取时不会写入任何字段
+     */
+    private static final class FrozenSectionData extends SectionData {
+        private FrozenSectionData(@Nullable Object data) {
+            super(data);
+        }
+
+        @Override
+        void putCache(@Nullable Object cache) {
+        }
+
+        @Override
+        public void setData(@Nullable Object data) {
+            throw new UnsupportedOperationException("无法修改只读配置");
+        }
+
+        @Override
+        public @NotNull List<String> getCommentList() {
+            return List.of();
+        }
+
+        @Override
+        public void setCommentList(@NotNull List<String> commentList) {
+            throw new UnsupportedOperationException("无法修改只读配置");
+        }
+
+        @Override
+        public @NotNull List<String> getInlineCommentList() {
+            return List.of();
+        }
+
+        @Override
+        public void setInlineCommentList(@NotNull List<String> inlineCommentList) {
+            throw new UnsupportedOperationException("无法修改只读配置");
+        }
+
+        @Override
+        public @NotNull List<String> getEndCommentList() {
+            return List.of();
+        }
+
+        @Override
+        public void setEndCommentList(@NotNull List<String> endCommentList) {
+            throw new UnsupportedOperationException("无法修改只读配置");
+        }
+    }
+
+    /**
+     * 基于键值数组的只读 Map 视图, 供依赖 Map 结构的代码读取
+     */
+    private final class ArrayMap extends AbstractMap<String, SectionData> {
+        @Override
+        public @Nullable SectionData get(Object key) {
+            if (!(key instanceof String k)) return null;
+            int index = FrozenConfiguration.this.indexOf(k);
+            return index != -1 ? FrozenConfiguration.this.values[index] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String k && FrozenConfiguration.this.indexOf(k) != -1;
+        }
+
+        @Override
+        public int size() {
+            return FrozenConfiguration.this.keys.length;
+        }
+
+        @Override
+        public @NotNull Set<Entry<String, SectionData>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public @NotNull Iterator<Entry<String, SectionData>> iterator() {
+                    return new Iterator<>() {
+                        private int index;
+
+                        @Override
+                        public boolean hasNext() {
+                            return this.index < FrozenConfiguration.this.keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, SectionData> next() {
+                            if (!this.hasNext()) throw new NoSuchElementException();
+                            int i = this.index++;
+                            return Map.entry(FrozenConfiguration.this.keys[i], FrozenConfiguration.this.values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return FrozenConfiguration.this.keys.length;
+                }
+            };
+        }
+    }
+}
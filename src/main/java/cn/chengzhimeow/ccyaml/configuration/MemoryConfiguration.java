@@ -5,8 +5,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
-@ToString(exclude = {"parent"})
+@ToString(exclude = {"parent", "deepKeyCache", "modificationListeners"})
 @SuppressWarnings("unused")
 public class MemoryConfiguration implements ConfigurationSection {
     /**
@@ -40,29 +42,104 @@ public class MemoryConfiguration implements ConfigurationSection {
     }
 
     /**
-     * 递归获取 Map 中的所有键 (包括子 Map 的键)
+     * 创建线程安全的空配置节点
+     * 读取无锁, 写入对每个被修改的节点进行写时复制
+     * 注释通过配置节点的方法读取时为只读列表, 修改时会在写锁内整体替换
+     * 列表中的配置节点同样会被转换为线程安全模式, 直接修改 SectionData 不在线程安全的保证范围内
      *
-     * @param map 要扫描的 Map
-     * @return 所有键的集合
+     * @return 节点
      */
-    private static @NotNull Set<String> getKeys(@NotNull Map<String, ?> map) {
-        Set<String> set = new HashSet<>();
+    public static @NotNull MemoryConfiguration concurrent() {
+        return new MemoryConfiguration(null, null, true);
+    }
 
+    /**
+     * 递归收集 Map 中的所有键 (包括子 Map 的键)
+     * 每个键只拼接一次完整路径
+     *
+     * @param set    键集合
+     * @param map    要扫描的 Map
+     * @param prefix 键前缀, 顶层为 null
+     */
+    private static void collectKeys(@NotNull Set<String> set, @NotNull Map<String, ?> map, @Nullable String prefix) {
         for (Map.Entry<String, ?> entry : map.entrySet()) {
-            set.add(entry.getKey());
-            if (entry.getValue() instanceof SectionData data && data.getData() instanceof Map) {
+            String key = prefix == null ? entry.getKey() : prefix + "." + entry.getKey();
+            set.add(key);
+            if (entry.getValue() instanceof SectionData data && data.getData() instanceof Map<?, ?> child)
                 // noinspection unchecked
-                for (String key : MemoryConfiguration.getKeys((Map<String, ?>) data.getData())) {
-                    set.add(entry.getKey() + "." + key);
-                }
+                MemoryConfiguration.collectKeys(set, (Map<String, ?>) child, key);
+        }
+    }
+
+    /**
+     * 将值中的普通配置节点转换为共享同一份数据的线程安全配置节点
+     * Map 节点会被递归处理, 需要替换元素的列表会被复制, 不会修改传入的列表
+     *
+     * @param value 值
+     * @return 转换后的值, 无需转换时返回原值
+     */
+    private static @Nullable Object toConcurrent(@Nullable Object value) {
+        if (value instanceof MemoryConfiguration configuration) {
+            if (configuration.isConcurrent()) return configuration;
+
+            MemoryConfiguration concurrent = MemoryConfiguration.concurrent();
+            concurrent.data = configuration.data;
+            MemoryConfiguration.toConcurrent(concurrent.data);
+            return concurrent;
+        }
+
+        if (value instanceof SectionData sectionData) {
+            Object data = sectionData.getData();
+            if (data instanceof Map<?, ?> map) for (Object child : map.values()) MemoryConfiguration.toConcurrent(child);
+            else {
+                Object converted = MemoryConfiguration.toConcurrent(data);
+                if (converted != data) sectionData.replaceData(converted);
+            }
+            return sectionData;
+        }
+
+        if (value instanceof List<?> list) {
+            List<Object> copy = null;
+            for (int i = 0; i < list.size(); i++) {
+                Object element = list.get(i);
+                Object converted = MemoryConfiguration.toConcurrent(element);
+                if (converted == element) continue;
+
+                if (copy == null) copy = new ArrayList<>(list);
+                copy.set(i, converted);
             }
+            return copy != null ? copy : list;
         }
 
-        return set;
+        return value;
     }
     private final @Nullable ConfigurationSection parent;
     private final @Nullable String path;
-    protected @NotNull SectionData data = new SectionData(new LinkedHashMap<String, SectionData>());
+    protected volatile @NotNull SectionData data = new SectionData(new LinkedHashMap<String, SectionData>());
+    private final @NotNull AtomicLong version = new AtomicLong();
+    private volatile long savedVersion;
+    private final @Nullable ReentrantLock writeLock;
+    private volatile @Nullable DeepKeyCache deepKeyCache;
+    /**
+     * 结构修改回调, 写入时整体替换, 通知时不需要加锁
+     */
+    private volatile @NotNull List<Runnable> modificationListeners = List.of();
+
+    /**
+     * MemoryConfiguration 的构造函数
+     * 子节点会继承父节点的线程安全模式并共享同一把写锁
+     *
+     * @param parent     父配置节点
+     * @param path       当前节点的路径
+     * @param concurrent 是否启用线程安全模式
+     */
+    protected MemoryConfiguration(@Nullable ConfigurationSection parent, @Nullable String path, boolean concurrent) {
+        this.parent = parent;
+        this.path = path;
+
+        if (parent instanceof MemoryConfiguration memoryConfiguration) this.writeLock = memoryConfiguration.writeLock;
+        else this.writeLock = concurrent ? new ReentrantLock() : null;
+    }
 
     /**
      * MemoryConfiguration 的构造函数
@@ -71,8 +148,7 @@ public class MemoryConfiguration implements ConfigurationSection {
      * @param path   当前节点的路径
      */
     protected MemoryConfiguration(@Nullable ConfigurationSection parent, @Nullable String path) {
-        this.parent = parent;
-        this.path = path;
+        this(parent, path, false);
     }
 
     @Override
@@ -90,6 +166,112 @@ public class MemoryConfiguration implements ConfigurationSection {
         return this.data;
     }
 
+    /**
+     * 是否处于线程安全模式
+     *
+     * @return 结果
+     */
+    public boolean isConcurrent() {
+        return this.writeLock != null;
+    }
+
+    /**
+     * 获取结构版本号, 每次 set / 移除 / 加载都会递增
+     * 子节点与根节点共享同一个版本号
+     *
+     * @return 版本号
+     */
+    public long getVersion() {
+        if (this.parent instanceof MemoryConfiguration memoryConfiguration) return memoryConfiguration.getVersion();
+        return this.version.getAcquire();
+    }
+
+    /**
+     * 标记结构已修改, 递增根节点的版本号
+     * 普通模式下只有一个写入线程, 不需要原子递增
+     */
+    protected void markModified() {
+        if (this.parent instanceof MemoryConfiguration memoryConfiguration) memoryConfiguration.markModified();
+        else {
+            if (this.writeLock != null) this.version.incrementAndGet();
+            else this.version.setRelease(this.version.getPlain() + 1);
+            for (Runnable listener : this.modificationListeners) listener.run();
+        }
+    }
+
+    /**
+     * 添加结构修改回调, 根节点版本号递增后在修改线程上同步调用
+     * 子节点会添加到根节点上
+     *
+     * @param listener 回调
+     */
+    public void addModificationListener(@NotNull Runnable listener) {
+        if (this.parent instanceof MemoryConfiguration memoryConfiguration) {
+            memoryConfiguration.addModificationListener(listener);
+            return;
+        }
+
+        synchronized (this) {
+            List<Runnable> listeners = new ArrayList<>(this.modificationListeners);
+            listeners.add(listener);
+            this.modificationListeners = List.copyOf(listeners);
+        }
+    }
+
+    /**
+     * 移除结构修改回调
+     *
+     * @param listener 回调
+     */
+    public void removeModificationListener(@NotNull Runnable listener) {
+        if (this.parent instanceof MemoryConfiguration memoryConfiguration) {
+            memoryConfiguration.removeModificationListener(listener);
+            return;
+        }
+
+        synchronized (this) {
+            List<Runnable> listeners = new ArrayList<>(this.modificationListeners);
+            if (listeners.remove(listener)) this.modificationListeners = List.copyOf(listeners);
+        }
+    }
+
+    /**
+     * 自上次保存或从文件加载后是否有修改
+     * set / 移除 / 加载 / 通过配置节点设定注释都会使配置变脏
+     * 直接修改 SectionData 的数据或注释列表不会被追踪, 此时需要手动调用 {@link #markDirty()}
+     *
+     * @return 结果
+     */
+    public boolean isDirty() {
+        if (this.parent instanceof MemoryConfiguration memoryConfiguration) return memoryConfiguration.isDirty();
+        return this.version.getAcquire() != this.savedVersion;
+    }
+
+    /**
+     * 手动标记配置已修改
+     */
+    public void markDirty() {
+        this.markModified();
+    }
+
+    /**
+     * 标记配置已与存储内容同步
+     */
+    public void markClean() {
+        this.markClean(this.getVersion());
+    }
+
+    /**
+     * 标记配置在指定版本号时已与存储内容同步
+     * 如果此后又有修改, 配置仍然保持为脏
+     *
+     * @param version 同步时的版本号
+     */
+    protected void markClean(long version) {
+        if (this.parent instanceof MemoryConfiguration memoryConfiguration) memoryConfiguration.markClean(version);
+        else this.savedVersion = version;
+    }
+
     /**
      * 获取当前节点的完整路径键
      *
@@ -104,7 +286,149 @@ public class MemoryConfiguration implements ConfigurationSection {
 
     @Override
     public void set(@NotNull String path, @Nullable Object value) {
-        String[] keys = path.split("\\.");
+        this.set(ConfigPath.of(path), value);
+    }
+
+    @Override
+    public void set(@NotNull ConfigPath path, @Nullable Object value) {
+        if (this.writeLock == null) {
+            this.setInPlace(path.keys, value);
+            this.markModified();
+            return;
+        }
+
+        this.writeLock.lock();
+        try {
+            this.setCopyOnWrite(path.keys, MemoryConfiguration.toConcurrent(value));
+            this.markModified();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    /**
+     * 替换当前节点的全部数据, 用于从文件加载
+     * 线程安全模式下在写锁内进行, 列表中的配置节点会被转换为线程安全模式
+     *
+     * @param data 新数据
+     */
+    protected void replaceData(@NotNull SectionData data) {
+        if (this.writeLock == null) {
+            this.data = data;
+            this.markModified();
+            return;
+        }
+
+        this.writeLock.lock();
+        try {
+            MemoryConfiguration.toConcurrent(data);
+            this.data = data;
+            this.markModified();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    @Override
+    public @NotNull List<String> getCommentList(@NotNull String path) {
+        if (this.writeLock == null) return ConfigurationSection.super.getCommentList(path);
+        return Collections.unmodifiableList(this.getSectionData(path).peekCommentList());
+    }
+
+    @Override
+    public @NotNull List<String> getCommentList() {
+        if (this.writeLock == null) return ConfigurationSection.super.getCommentList();
+        return Collections.unmodifiableList(this.getData().peekCommentList());
+    }
+
+    @Override
+    public void setCommentList(@NotNull String path, @NotNull List<String> commentList) {
+        this.lockComments();
+        try {
+            ConfigurationSection.super.setCommentList(path, this.copyComments(commentList));
+            this.markModified();
+        } finally {
+            this.unlockComments();
+        }
+    }
+
+    @Override
+    public void setCommentList(@NotNull List<String> commentList) {
+        this.lockComments();
+        try {
+            ConfigurationSection.super.setCommentList(this.copyComments(commentList));
+            this.markModified();
+        } finally {
+            this.unlockComments();
+        }
+    }
+
+    @Override
+    public @NotNull List<String> getInlineCommentList(@NotNull String path) {
+        if (this.writeLock == null) return ConfigurationSection.super.getInlineCommentList(path);
+        return Collections.unmodifiableList(this.getSectionData(path).peekInlineCommentList());
+    }
+
+    @Override
+    public @NotNull List<String> getInlineCommentList() {
+        if (this.writeLock == null) return ConfigurationSection.super.getInlineCommentList();
+        return Collections.unmodifiableList(this.getData().peekInlineCommentList());
+    }
+
+    @Override
+    public void setInlineCommentList(@NotNull String path, @NotNull List<String> commentList) {
+        this.lockComments();
+        try {
+            ConfigurationSection.super.setInlineCommentList(path, this.copyComments(commentList));
+            this.markModified();
+        } finally {
+            this.unlockComments();
+        }
+    }
+
+    @Override
+    public void setInlineCommentList(@NotNull List<String> commentList) {
+        this.lockComments();
+        try {
+            ConfigurationSection.super.setInlineCommentList(this.copyComments(commentList));
+            this.markModified();
+        } finally {
+            this.unlockComments();
+        }
+    }
+
+    /**
+     * 线程安全模式下获取写锁, 用于修改注释
+     */
+    protected void lockComments() {
+        if (this.writeLock != null) this.writeLock.lock();
+    }
+
+    /**
+     * 释放 {@link #lockComments()} 获取的写锁
+     */
+    protected void unlockComments() {
+        if (this.writeLock != null) this.writeLock.unlock();
+    }
+
+    /**
+     * 线程安全模式下复制注释列表, 已发布的注释列表不会再被修改
+     *
+     * @param commentList 注释列表
+     * @return 普通模式下返回原列表, 线程安全模式下返回只读副本
+     */
+    protected @NotNull List<String> copyComments(@NotNull List<String> commentList) {
+        if (this.writeLock == null) return commentList;
+        return Collections.unmodifiableList(new ArrayList<>(commentList));
+    }
+
+    /**
+     * 直接修改节点 Map 设定值
+     *
+     * @param keys  路径键数组
+     * @param value 要设定的值, 如果为 null 则会移除该键
+     */
+    private void setInPlace(@NotNull String[] keys, @Nullable Object value) {
         int end = keys.length - 1;
 
         // noinspection unchecked
@@ -125,22 +449,86 @@ public class MemoryConfiguration implements ConfigurationSection {
 
         String finalKey = keys[end];
         if (value == null) Objects.requireNonNull(currentMap).remove(finalKey);
-        else {
-            SectionData data = Objects.requireNonNull(currentMap).get(finalKey);
-            if (data == null) data = new SectionData();
+        else currentMap.put(finalKey, this.createSectionData(currentMap.get(finalKey), value));
+    }
 
-            if (value instanceof ConfigurationSection section) data = section.getData();
-            else if (value instanceof Map) // noinspection unchecked
-                data.setData(SectionData.fromMap((Map<Object, Object>) value).getData());
-            else data.setData(value);
+    /**
+     * 以写时复制方式设定值, 已发布的 Map 不会再被修改, 读取线程无需加锁
+     * 调用时必须持有写锁
+     *
+     * @param keys  路径键数组
+     * @param value 要设定的值, 如果为 null 则会移除该键
+     */
+    @SuppressWarnings("unchecked")
+    private void setCopyOnWrite(@NotNull String[] keys, @Nullable Object value) {
+        int end = keys.length - 1;
 
-            currentMap.put(finalKey, data);
+        // 找到已存在的最深 Map 节点
+        SectionData node = this.data;
+        int depth = 0;
+        for (; depth < end; depth++) {
+            SectionData child = ((Map<String, SectionData>) Objects.requireNonNull(node.getData())).get(keys[depth]);
+            if (child == null || !(child.getData() instanceof Map)) break;
+            node = child;
         }
+
+        Map<String, SectionData> currentMap = (Map<String, SectionData>) Objects.requireNonNull(node.getData());
+        Map<String, SectionData> copy;
+        if (depth < end) {
+            // 在发布前完整构建缺失的中间节点
+            SectionData head = new SectionData(new LinkedHashMap<String, SectionData>());
+            SectionData tail = head;
+            for (int i = depth + 1; i < end; i++) {
+                SectionData next = new SectionData(new LinkedHashMap<String, SectionData>());
+                ((Map<String, SectionData>) Objects.requireNonNull(tail.getData())).put(keys[i], next);
+                tail = next;
+            }
+            if (value != null)
+                ((Map<String, SectionData>) Objects.requireNonNull(tail.getData())).put(keys[end], this.createSectionData(null, value));
+
+            copy = new LinkedHashMap<>(currentMap);
+            copy.put(keys[depth], head);
+        } else {
+            String finalKey = keys[end];
+            SectionData data = currentMap.get(finalKey);
+            if (value != null && data != null && !(value instanceof ConfigurationSection)) {
+                this.createSectionData(data, value);
+                return;
+            }
+
+            copy = new LinkedHashMap<>(currentMap);
+            if (value == null) copy.remove(finalKey);
+            else copy.put(finalKey, this.createSectionData(null, value));
+        }
+
+        node.replaceData(copy);
+    }
+
+    /**
+     * 根据值创建或更新 SectionData
+     *
+     * @param data  已存在的 SectionData, 为 null 时创建新的实例
+     * @param value 值
+     * @return SectionData
+     */
+    private @NotNull SectionData createSectionData(@Nullable SectionData data, @NotNull Object value) {
+        if (value instanceof ConfigurationSection section) return section.getData();
+        if (data == null) data = new SectionData();
+
+        if (value instanceof Map) // noinspection unchecked
+            data.setData(SectionData.fromMap((Map<Object, Object>) value).getData());
+        else data.setData(value);
+        return data;
     }
 
     @Override
     public @NotNull SectionData getSectionData(String path) {
-        String[] keys = path.split("\\.");
+        return this.getSectionData(ConfigPath.of(path));
+    }
+
+    @Override
+    public @NotNull SectionData getSectionData(@NotNull ConfigPath path) {
+        String[] keys = path.keys;
         int end = keys.length - 1;
 
         // noinspection unchecked
@@ -158,13 +546,45 @@ public class MemoryConfiguration implements ConfigurationSection {
         return sectionData != null ? sectionData : new SectionData();
     }
 
+    /**
+     * 获取当前配置节点下的所有键
+     * 深度获取的结果为只读集合, 会按版本号缓存, 在下一次 set / 移除 / 加载之前重复调用不会重新遍历
+     * 直接修改 SectionData 的数据不会使缓存失效, 此时需要手动调用 {@link #markDirty()}
+     *
+     * @param deep 是否深度获取 (即包含所有子节点的键)
+     * @return 键的集合
+     */
     @Override
     public @NotNull Set<String> getKeys(boolean deep) {
+        if (!deep) {
+            // noinspection unchecked
+            Map<String, SectionData> map = (Map<String, SectionData>) this.data.getData();
+            if (this.writeLock != null) return Collections.unmodifiableSet(Objects.requireNonNull(map).keySet());
+            return Objects.requireNonNull(map).keySet();
+        }
+
+        // 先读取版本号再遍历, 遍历期间的并发修改只会使这次缓存在下次调用时失效
+        long version = this.getVersion();
+        DeepKeyCache cache = this.deepKeyCache;
+        if (cache != null && cache.version() == version) return cache.keys();
+
         // noinspection unchecked
         Map<String, SectionData> map = (Map<String, SectionData>) this.data.getData();
+        Set<String> set = new LinkedHashSet<>();
+        MemoryConfiguration.collectKeys(set, Objects.requireNonNull(map), null);
+
+        Set<String> keys = Collections.unmodifiableSet(set);
+        this.deepKeyCache = new DeepKeyCache(version, keys);
+        return keys;
+    }
 
-        if (!deep) return Objects.requireNonNull(map).keySet();
-        return MemoryConfiguration.getKeys(Objects.requireNonNull(map));
+    /**
+     * 创建当前节点的只读快照
+     *
+     * @return 只读快照
+     */
+    public @NotNull FrozenConfiguration freeze() {
+        return FrozenConfiguration.of(this);
     }
 
     @Override
@@ -174,4 +594,38 @@ public class MemoryConfiguration implements ConfigurationSection {
         }
         return false;
     }
+
+    /**
+     * 缓存在 SectionData 上的子配置节点视图
+     * 先按创建视图的节点和相对路径比较, 不需要拼接路径或查找根配置
+     * 再以所属的根配置和完整路径区分, 从根配置或任意中间节点获取同一个子节点都会命中缓存
+     *
+     * @param parent  创建视图的配置节点
+     * @param path    相对于 parent 的路径
+     * @param root    所属的根配置节点
+     * @param key     子配置节点的完整路径
+     * @param section 子配置节点视图
+     */
+    record ChildView(@NotNull ConfigurationSection parent, @NotNull String path, @NotNull ConfigurationSection root, @NotNull String key, @NotNull MemoryConfiguration section) {
+        /**
+         * 获取配置节点所属的根配置节点
+         *
+         * @param section 配置节点
+         * @return 根配置节点
+         */
+        static @NotNull ConfigurationSection root(@NotNull ConfigurationSection section) {
+            ConfigurationSection root = section;
+            for (ConfigurationSection parent = root.getParent(); parent != null; parent = parent.getParent()) root = parent;
+            return root;
+        }
+    }
+
+    /**
+     * 深度键缓存
+     *
+     * @param version 计算时的版本号
+     * @param keys    只读键集合
+     */
+    private record DeepKeyCache(long version, @NotNull Set<String> keys) {
+    }
 }
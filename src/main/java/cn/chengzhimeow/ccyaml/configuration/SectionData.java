@@ -1,11 +1,14 @@
 package cn.chengzhimeow.ccyaml.configuration;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 
 @Getter
@@ -13,6 +16,19 @@ import java.util.*;
 @ToString
 @SuppressWarnings("unused")
 public class SectionData {
+    private static final @NotNull VarHandle DATA;
+    private static final @NotNull VarHandle COMMENTS;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            DATA = lookup.findVarHandle(SectionData.class, "data", Object.class);
+            COMMENTS = lookup.findVarHandle(SectionData.class, "comments", Comments.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     /**
      * 从 Map 转换
      *
@@ -37,28 +53,180 @@ public class SectionData {
 
         return new SectionData(dataMap);
     }
+    /**
+     * 节点的值, 通过 acquire / release 语义读写
+     * 线程安全模式的配置以此发布写时复制后的新 Map, 普通模式下与普通字段的读写开销相同
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     private @Nullable Object data;
-    private @NotNull List<String> commentList;
-    private @NotNull List<String> inlineCommentList;
-    private @NotNull List<String> endCommentList;
+    /**
+     * 注释容器, 仅在首次写入注释时创建
+     */
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    private volatile @Nullable Comments comments;
+    /**
+     * 由值派生的缓存, 可能是类型转换结果, 列表视图或子配置节点视图, 值被替换时清空
+     * 一个节点的值只会是标量, 列表或 Map 之一, 因此共用同一个槽位
+     * 缓存的都是只有 final 字段的 record, 并发读写时最多重复计算, 因此不需要 volatile
+     */
+    @Setter(AccessLevel.NONE)
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @Nullable Object cache;
 
     public SectionData(@Nullable Object data) {
         if (data instanceof String s) data = new StringSectionData(s);
         this.data = data;
-        this.commentList = new ArrayList<>();
-        this.inlineCommentList = new ArrayList<>();
-        this.endCommentList = new ArrayList<>();
     }
 
     public SectionData() {
         this(null);
     }
 
+    public @Nullable Object getData() {
+        return SectionData.DATA.getAcquire(this);
+    }
+
+    /**
+     * 写入由值派生的缓存
+     *
+     * @param cache 缓存
+     */
+    void putCache(@Nullable Object cache) {
+        this.cache = cache;
+    }
+
     public void setData(@Nullable Object data) {
-        if (data instanceof SectionData value) this.data = value.data;
+        this.cache = null;
+        if (data instanceof SectionData value) data = value.getData();
         else if (data instanceof Map) // noinspection unchecked
-            this.data = SectionData.fromMap((Map<Object, Object>) data).data;
-        else this.data = data;
+            data = SectionData.fromMap((Map<Object, Object>) data).getData();
+        SectionData.DATA.setRelease(this, data);
+    }
+
+    /**
+     * 获取注释容器, 不存在时通过 CAS 创建, 不会锁定节点
+     *
+     * @return 注释容器
+     */
+    private @NotNull Comments comments() {
+        Comments comments = this.comments;
+        if (comments != null) return comments;
+
+        Comments created = new Comments();
+        Comments witness = (Comments) SectionData.COMMENTS.compareAndExchange(this, null, created);
+        return witness != null ? witness : created;
+    }
+
+    /**
+     * 获取块注释, 不存在时创建一个可修改的空列表
+     *
+     * @return 注释列表
+     */
+    public @NotNull List<String> getCommentList() {
+        Comments comments = this.comments;
+        List<String> list = comments != null ? comments.commentList : null;
+        if (list != null) return list;
+        return this.comments().getOrCreate(Comments.COMMENT_LIST);
+    }
+
+    /**
+     * 获取块注释, 不存在时返回共享的只读空列表, 不会分配新实例
+     *
+     * @return 注释列表
+     */
+    public @NotNull List<String> peekCommentList() {
+        Comments comments = this.comments;
+        List<String> list = comments != null ? comments.commentList : null;
+        return list != null ? list : List.of();
+    }
+
+    /**
+     * 设定块注释, 空列表不会占用存储
+     *
+     * @param commentList 注释列表
+     */
+    public void setCommentList(@NotNull List<String> commentList) {
+        if (commentList.isEmpty() && this.comments == null) return;
+        this.comments().commentList = commentList.isEmpty() ? null : commentList;
+    }
+
+    /**
+     * 获取行内注释, 不存在时创建一个可修改的空列表
+     *
+     * @return 注释列表
+     */
+    public @NotNull List<String> getInlineCommentList() {
+        Comments comments = this.comments;
+        List<String> list = comments != null ? comments.inlineCommentList : null;
+        if (list != null) return list;
+        return this.comments().getOrCreate(Comments.INLINE_COMMENT_LIST);
+    }
+
+    /**
+     * 获取行内注释, 不存在时返回共享的只读空列表, 不会分配新实例
+     *
+     * @return 注释列表
+     */
+    public @NotNull List<String> peekInlineCommentList() {
+        Comments comments = this.comments;
+        List<String> list = comments != null ? comments.inlineCommentList : null;
+        return list != null ? list : List.of();
+    }
+
+    /**
+     * 设定行内注释, 空列表不会占用存储
+     *
+     * @param inlineCommentList 注释列表
+     */
+    public void setInlineCommentList(@NotNull List<String> inlineCommentList) {
+        if (inlineCommentList.isEmpty() && this.comments == null) return;
+        this.comments().inlineCommentList = inlineCommentList.isEmpty() ? null : inlineCommentList;
+    }
+
+    /**
+     * 获取尾部注释, 不存在时创建一个可修改的空列表
+     *
+     * @return 注释列表
+     */
+    public @NotNull List<String> getEndCommentList() {
+        Comments comments = this.comments;
+        List<String> list = comments != null ? comments.endCommentList : null;
+        if (list != null) return list;
+        return this.comments().getOrCreate(Comments.END_COMMENT_LIST);
+    }
+
+    /**
+     * 获取尾部注释, 不存在时返回共享的只读空列表, 不会分配新实例
+     *
+     * @return 注释列表
+     */
+    public @NotNull List<String> peekEndCommentList() {
+        Comments comments = this.comments;
+        List<String> list = comments != null ? comments.endCommentList : null;
+        return list != null ? list : List.of();
+    }
+
+    /**
+     * 设定尾部注释, 空列表不会占用存储
+     *
+     * @param endCommentList 注释列表
+     */
+    public void setEndCommentList(@NotNull List<String> endCommentList) {
+        if (endCommentList.isEmpty() && this.comments == null) return;
+        this.comments().endCommentList = endCommentList.isEmpty() ? null : endCommentList;
+    }
+
+    /**
+     * 直接替换数据, 不进行任何转换
+     *
+     * @param data 数据
+     */
+    void replaceData(@Nullable Object data) {
+        this.cache = null;
+        SectionData.DATA.setRelease(this, data);
     }
 
     @Override
@@ -66,9 +234,44 @@ public class SectionData {
         if (this == o) return true;
         if (o == null) return false;
         if (!(o instanceof SectionData target)) return false;
-        return Objects.equals(this.data, target.data) &&
-                this.commentList.equals(target.commentList) &&
-                this.inlineCommentList.equals(target.inlineCommentList) &&
-                this.endCommentList.equals(target.endCommentList);
+        return Objects.equals(this.getData(), target.getData()) &&
+                this.peekCommentList().equals(target.peekCommentList()) &&
+                this.peekInlineCommentList().equals(target.peekInlineCommentList()) &&
+                this.peekEndCommentList().equals(target.peekEndCommentList());
+    }
+
+    @ToString
+    private static final class Comments {
+        private static final @NotNull VarHandle COMMENT_LIST;
+        private static final @NotNull VarHandle INLINE_COMMENT_LIST;
+        private static final @NotNull VarHandle END_COMMENT_LIST;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                COMMENT_LIST = lookup.findVarHandle(Comments.class, "commentList", List.class);
+                INLINE_COMMENT_LIST = lookup.findVarHandle(Comments.class, "inlineCommentList", List.class);
+                END_COMMENT_LIST = lookup.findVarHandle(Comments.class, "endCommentList", List.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private volatile @Nullable List<String> commentList;
+        private volatile @Nullable List<String> inlineCommentList;
+        private volatile @Nullable List<String> endCommentList;
+
+        /**
+         * 获取注释列表, 不存在时通过 CAS 创建一个可修改的空列表
+         *
+         * @param handle 注释列表字段
+         * @return 注释列表
+         */
+        @SuppressWarnings("unchecked")
+        private @NotNull List<String> getOrCreate(@NotNull VarHandle handle) {
+            List<String> created = new ArrayList<>();
+            List<String> witness = (List<String>) handle.compareAndExchange(this, null, created);
+            return witness != null ? witness : created;
+        }
     }
 }
@@ -0,0 +1,61 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 深度遍历迭代器返回的条目
+ * 同一个迭代器每次返回的都是同一个实例, 调用 next 后之前的内容即失效
+ */
+@SuppressWarnings("unused")
+public final class SectionEntry {
+    private final @NotNull SectionPath path;
+    private @NotNull SectionData data = new SectionData();
+    private boolean section;
+
+    SectionEntry(@NotNull SectionPath path) {
+        this.path = path;
+    }
+
+    /**
+     * 更新条目内容
+     *
+     * @param data    数据
+     * @param section 是否为配置节点
+     */
+    void update(@NotNull SectionData data, boolean section) {
+        this.data = data;
+        this.section = section;
+    }
+
+    /**
+     * 获取相对于遍历起点的路径
+     *
+     * @return 路径
+     */
+    public @NotNull SectionPath getPath() {
+        return this.path;
+    }
+
+    /**
+     * 获取数据
+     *
+     * @return 数据
+     */
+    public @NotNull SectionData getData() {
+        return this.data;
+    }
+
+    /**
+     * 是否为配置节点
+     *
+     * @return 结果
+     */
+    public boolean isSection() {
+        return this.section;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "SectionEntry(path=" + this.path + ", section=" + this.section + ")";
+    }
+}
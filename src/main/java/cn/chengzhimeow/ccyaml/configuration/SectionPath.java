@@ -0,0 +1,92 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 遍历过程中可复用的路径视图
+ * 以键数组的形式保存相对于遍历起点的路径, 只有在调用 {@link #toString()} 时才会拼接完整路径
+ * 实例在遍历过程中会被原地修改, 需要保留时请调用 {@link #toString()} 或 {@link #toConfigPath()}
+ */
+@SuppressWarnings("unused")
+public final class SectionPath {
+    private @NotNull String[] keys = new String[8];
+    private int depth;
+
+    SectionPath() {
+    }
+
+    /**
+     * 进入下一层级
+     *
+     * @param key 键
+     */
+    void push(@NotNull String key) {
+        if (this.depth == this.keys.length) this.keys = Arrays.copyOf(this.keys, this.depth * 2);
+        this.keys[this.depth++] = key;
+    }
+
+    /**
+     * 退出当前层级
+     */
+    void pop() {
+        this.keys[--this.depth] = null;
+    }
+
+    /**
+     * 获取路径层级数
+     *
+     * @return 层级数
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * 获取指定层级的键
+     *
+     * @param index 层级索引
+     * @return 键
+     */
+    public @NotNull String getKey(int index) {
+        Objects.checkIndex(index, this.depth);
+        return this.keys[index];
+    }
+
+    /**
+     * 获取最后一级的键
+     *
+     * @return 键
+     */
+    public @NotNull String getKey() {
+        return this.getKey(this.depth - 1);
+    }
+
+    /**
+     * 转换为预编译路径
+     *
+     * @return 预编译路径
+     */
+    public @NotNull ConfigPath toConfigPath() {
+        return ConfigPath.of(this.toString());
+    }
+
+    /**
+     * 拼接以 . 分隔的完整路径
+     *
+     * @return 路径字符串
+     */
+    @Override
+    public @NotNull String toString() {
+        if (this.depth == 1) return this.keys[0];
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.depth; i++) {
+            if (i > 0) builder.append('.');
+            builder.append(this.keys[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,39 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 配置树访问者, 配合 {@link ConfigurationSection#walk(SectionVisitor)} 使用
+ * 回调中的路径实例会被复用, 只在回调期间有效
+ */
+@SuppressWarnings("unused")
+public interface SectionVisitor {
+    /**
+     * 进入子配置节点
+     *
+     * @param path 节点路径
+     * @param data 节点数据
+     * @return 是否继续遍历该节点的子键, 返回 false 时也不会调用 {@link #leaveSection(SectionPath, SectionData)}
+     */
+    default boolean enterSection(@NotNull SectionPath path, @NotNull SectionData data) {
+        return true;
+    }
+
+    /**
+     * 离开子配置节点
+     *
+     * @param path 节点路径
+     * @param data 节点数据
+     */
+    default void leaveSection(@NotNull SectionPath path, @NotNull SectionData data) {
+    }
+
+    /**
+     * 访问非配置节点的值
+     *
+     * @param path 值路径
+     * @param data 值数据
+     */
+    default void visitValue(@NotNull SectionPath path, @NotNull SectionData data) {
+    }
+}
@@ -0,0 +1,106 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * 配置树的深度优先遍历实现
+ * 直接遍历节点 Map, 不构建完整路径字符串, 也不会从根节点重新查找每个键
+ */
+final class SectionWalker implements Iterator<SectionEntry> {
+    /**
+     * 获取 SectionData 中的子节点 Map
+     *
+     * @param data 数据
+     * @return 子节点 Map, 如果不是配置节点则返回 null
+     */
+    static @Nullable Map<?, ?> children(@NotNull SectionData data) {
+        Object value = data.getData();
+        if (value instanceof Map<?, ?> map) return map;
+        if (value instanceof ConfigurationSection section && section.getData().getData() instanceof Map<?, ?> map)
+            return map;
+        return null;
+    }
+
+    /**
+     * 将 Map 中的值转换为 SectionData
+     *
+     * @param value 值
+     * @return SectionData
+     */
+    private static @NotNull SectionData sectionData(@Nullable Object value) {
+        return value instanceof SectionData data ? data : new SectionData(value);
+    }
+
+    /**
+     * 以访问者模式遍历
+     *
+     * @param map     节点 Map
+     * @param path    当前路径
+     * @param visitor 访问者
+     */
+    static void walk(@NotNull Map<?, ?> map, @NotNull SectionPath path, @NotNull SectionVisitor visitor) {
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            SectionData data = SectionWalker.sectionData(entry.getValue());
+            path.push(String.valueOf(entry.getKey()));
+
+            Map<?, ?> children = SectionWalker.children(data);
+            if (children == null) visitor.visitValue(path, data);
+            else if (visitor.enterSection(path, data)) {
+                SectionWalker.walk(children, path, visitor);
+                visitor.leaveSection(path, data);
+            }
+
+            path.pop();
+        }
+    }
+    private final @NotNull SectionPath path = new SectionPath();
+    private final @NotNull SectionEntry entry = new SectionEntry(this.path);
+    private @NotNull Iterator<?>[] stack = new Iterator<?>[8];
+    private int size;
+    private @Nullable Map<?, ?> pendingChildren;
+
+    SectionWalker(@NotNull Map<?, ?> map) {
+        this.stack[this.size++] = map.entrySet().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.pendingChildren != null && !this.pendingChildren.isEmpty()) return true;
+        for (int i = this.size - 1; i >= 0; i--) {
+            if (this.stack[i].hasNext()) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public @NotNull SectionEntry next() {
+        if (!this.hasNext()) throw new NoSuchElementException();
+
+        // 上一个条目是配置节点时进入其子节点, 否则退出上一个条目的层级
+        if (this.pendingChildren != null) {
+            if (this.size == this.stack.length) this.stack = Arrays.copyOf(this.stack, this.size * 2);
+            this.stack[this.size++] = this.pendingChildren.entrySet().iterator();
+            this.pendingChildren = null;
+        } else if (this.path.getDepth() > 0) this.path.pop();
+
+        while (!this.stack[this.size - 1].hasNext()) {
+            this.stack[--this.size] = null;
+            this.path.pop();
+        }
+
+        Map.Entry<?, ?> next = (Map.Entry<?, ?>) this.stack[this.size - 1].next();
+        SectionData data = SectionWalker.sectionData(next.getValue());
+        this.path.push(String.valueOf(next.getKey()));
+
+        Map<?, ?> children = SectionWalker.children(data);
+        this.pendingChildren = children;
+        this.entry.update(data, children != null);
+        return this.entry;
+    }
+}
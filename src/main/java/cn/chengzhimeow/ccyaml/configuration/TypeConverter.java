@@ -0,0 +1,21 @@
+package cn.chengzhimeow.ccyaml.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 类型转换器, 配合 {@link ConverterRegistry} 使用
+ *
+ * @param <S> 源类型
+ * @param <T> 目标类型
+ */
+@FunctionalInterface
+public interface TypeConverter<S, T> {
+    /**
+     * 转换值
+     *
+     * @param value 源值, StringSection 已被解包为 String
+     * @return 转换后的值, 无法转换时返回 null
+     */
+    @Nullable T convert(@NotNull S value);
+}
@@ -2,23 +2,39 @@ package cn.chengzhimeow.ccyaml.configuration.yaml;
 
 import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
 import cn.chengzhimeow.ccyaml.configuration.SectionData;
+import cn.chengzhimeow.ccyaml.metrics.YamlMetrics;
+import lombok.Getter;
+import lombok.Setter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.comments.CommentType;
+import org.yaml.snakeyaml.error.YAMLException;
 import org.yaml.snakeyaml.nodes.MappingNode;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.*;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 @SuppressWarnings("unused")
 public class YamlConfiguration extends MemoryConfiguration {
+    /**
+     * 保存时使用的临时文件名, 格式为 .<文件名>.<十六进制时间戳>.tmp
+     */
+    private static final Pattern TEMP_FILE_PATTERN = Pattern.compile("^\\..+\\.[0-9a-f]+\\.tmp$");
+
     /**
      * 默认加载配置实例
      */
@@ -84,6 +100,46 @@ public class YamlConfiguration extends MemoryConfiguration {
         return configuration;
     }
 
+    /**
+     * 从 Path 加载配置文件
+     *
+     * @param path 配置文件路径
+     * @return 加载完成的 YamlConfiguration 实例
+     * @throws IOException 如果文件读取失败
+     */
+    public static @NotNull YamlConfiguration loadConfiguration(@NotNull Path path) throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.load(path);
+        return configuration;
+    }
+
+    /**
+     * 从 UTF-8 编码的字节数组加载配置文件
+     *
+     * @param bytes 配置文件内容
+     * @return 加载完成的 YamlConfiguration 实例
+     */
+    public static @NotNull YamlConfiguration loadConfiguration(byte @NotNull [] bytes) {
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.load(bytes);
+        return configuration;
+    }
+
+    /**
+     * 使用快照缓存从 File 加载配置文件
+     *
+     * @param file          配置文件文件实例
+     * @param snapshotCache 快照缓存, 为 null 时不使用快照
+     * @return 加载完成的 YamlConfiguration 实例
+     * @throws IOException 如果文件读取失败
+     */
+    public static @NotNull YamlConfiguration loadConfiguration(@NotNull File file, @Nullable YamlSnapshotCache snapshotCache) throws IOException {
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.setSnapshotCache(snapshotCache);
+        configuration.load(file);
+        return configuration;
+    }
+
     /**
      * 检查指定集合实例不为空
      *
@@ -93,14 +149,120 @@ public class YamlConfiguration extends MemoryConfiguration {
     public static boolean isNotNullAndEmpty(@Nullable Collection<?> collection) {
         return collection == null || collection.isEmpty();
     }
+
+    /**
+     * 计算文件内容的校验值, 与快照缓存使用的校验值一致
+     *
+     * @param bytes 文件内容
+     * @return 校验值, 不会为 -1
+     */
+    public static long checksum(byte @NotNull [] bytes) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes);
+        return crc32.getValue();
+    }
+
+    /**
+     * 检查文件是否为保存过程中的临时文件
+     * 写入中途崩溃时临时文件可能残留在配置目录中
+     *
+     * @param file 文件实例
+     * @return 结果
+     */
+    public static boolean isTempFile(@NotNull File file) {
+        return YamlConfiguration.TEMP_FILE_PATTERN.matcher(file.getName()).matches();
+    }
+
+    /**
+     * 检查两个文件的内容是否完全一致
+     *
+     * @param target 目标文件
+     * @param temp   临时文件
+     * @param size   临时文件大小
+     * @return 结果
+     * @throws IOException 如果文件读取失败
+     */
+    private static boolean isSameContent(@NotNull Path target, @NotNull Path temp, long size) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != size) return false;
+        return Files.mismatch(target, temp) == -1;
+    }
+
+    /**
+     * 以原子移动替换目标文件, 文件系统不支持原子移动时退化为普通替换
+     *
+     * @param temp   临时文件
+     * @param target 目标文件
+     * @throws IOException 如果移动失败
+     */
+    private static void moveAtomically(@NotNull Path temp, @NotNull Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * 以 UTF-8 一次解码字节数组
+     *
+     * @param bytes 字节数组
+     * @return Reader
+     */
+    private static @NotNull Reader reader(byte @NotNull [] bytes) {
+        return new StringReader(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 以 UTF-8 一次解码 ByteBuffer, 不会修改 ByteBuffer 的 position
+     *
+     * @param buffer ByteBuffer
+     * @return Reader
+     */
+    private static @NotNull Reader reader(@NotNull ByteBuffer buffer) {
+        return new CharBufferReader(StandardCharsets.UTF_8.decode(buffer.duplicate()));
+    }
+
+    /**
+     * 统计节点下所有键的数量 (包括子节点的键)
+     *
+     * @param sectionData 节点
+     * @return 键数量
+     */
+    private static int countNodes(@NotNull SectionData sectionData) {
+        if (!(sectionData.getData() instanceof Map<?, ?> map)) return 0;
+
+        int count = map.size();
+        for (Object value : map.values()) {
+            if (value instanceof SectionData child) count += YamlConfiguration.countNodes(child);
+        }
+        return count;
+    }
     public final @NotNull LoaderOptions loaderOptions;
     public final @NotNull DumperOptions dumperOptions;
     private final @NotNull YamlConstructor constructor;
     private final @NotNull YamlRepresenter representer;
     private final @NotNull Yaml yaml;
+    /**
+     * 保存时是否在替换目标文件前将内容强制刷入磁盘
+     */
+    @Getter
+    @Setter
+    private boolean syncOnSave;
+    /**
+     * 从文件加载时使用的快照缓存, 为 null 时不使用快照
+     */
+    @Getter
+    @Setter
+    private @Nullable YamlSnapshotCache snapshotCache;
+    /**
+     * 加载与保存的指标实现
+     */
+    @Getter
+    @Setter
+    private @NotNull YamlMetrics metrics = YamlMetrics.NOOP;
 
-    public YamlConfiguration(@NotNull LoaderOptions loaderOptions, @NotNull DumperOptions dumperOptions, @NotNull YamlConstructor constructor, @NotNull YamlRepresenter representer) {
-        super(null, "");
+    public YamlConfiguration(@NotNull LoaderOptions loaderOptions, @NotNull DumperOptions dumperOptions, @NotNull YamlConstructor constructor, @NotNull YamlRepresenter representer, boolean concurrent) {
+        super(null, "", concurrent);
 
         this.loaderOptions = loaderOptions;
         this.dumperOptions = dumperOptions;
@@ -110,6 +272,10 @@ public class YamlConfiguration extends MemoryConfiguration {
         this.yaml = new Yaml(this.constructor, this.representer, this.dumperOptions, this.loaderOptions);
     }
 
+    public YamlConfiguration(@NotNull LoaderOptions loaderOptions, @NotNull DumperOptions dumperOptions, @NotNull YamlConstructor constructor, @NotNull YamlRepresenter representer) {
+        this(loaderOptions, dumperOptions, constructor, representer, false);
+    }
+
     public YamlConfiguration(@NotNull LoaderOptions loaderOptions, @NotNull DumperOptions dumperOptions, @NotNull YamlConstructor constructor) {
         this(loaderOptions, dumperOptions, constructor, new YamlRepresenter(dumperOptions));
     }
@@ -130,22 +296,76 @@ public class YamlConfiguration extends MemoryConfiguration {
         this(loaderOptions, YamlConfiguration.defaultDumperOptions());
     }
 
+    public YamlConfiguration(@NotNull LoaderOptions loaderOptions, @NotNull DumperOptions dumperOptions, boolean concurrent) {
+        this(loaderOptions, dumperOptions, new YamlConstructor(loaderOptions), new YamlRepresenter(dumperOptions), concurrent);
+    }
+
+    public YamlConfiguration(boolean concurrent) {
+        this(YamlConfiguration.defaultLoaderOptions(), YamlConfiguration.defaultDumperOptions(), concurrent);
+    }
+
     public YamlConfiguration() {
         this(YamlConfiguration.defaultLoaderOptions());
     }
 
     /**
      * 从 Reader 加载配置文件
+     * 加载完成后配置不会被标记为脏
      *
      * @param reader 配置文件读取实例
      */
     public void load(@NotNull Reader reader) {
-        MappingNode node = (MappingNode) this.yaml.compose(reader);
-        if (node != null) this.data = this.constructor.mappingNodeToSectionData(node);
+        long start = System.nanoTime();
+        try {
+            this.apply(this.parse(reader));
+        } catch (RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, null, e);
+            throw e;
+        }
+        this.markClean();
+        this.reportLoad(null, start, -1, false);
+    }
+
+    /**
+     * 从 UTF-8 编码的字节数组加载配置文件, 一次完成解码
+     * 加载完成后配置不会被标记为脏
+     *
+     * @param bytes 配置文件内容
+     */
+    public void load(byte @NotNull [] bytes) {
+        long start = System.nanoTime();
+        try {
+            this.apply(this.parse(YamlConfiguration.reader(bytes)));
+        } catch (RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, null, e);
+            throw e;
+        }
+        this.markClean();
+        this.reportLoad(null, start, bytes.length, false);
+    }
+
+    /**
+     * 从 UTF-8 编码的 ByteBuffer 加载配置文件, 一次完成解码
+     * 读取从 position 到 limit 的内容, 不会修改 ByteBuffer 的 position
+     * 加载完成后配置不会被标记为脏
+     *
+     * @param buffer 配置文件内容
+     */
+    public void load(@NotNull ByteBuffer buffer) {
+        long start = System.nanoTime();
+        try {
+            this.apply(this.parse(YamlConfiguration.reader(buffer)));
+        } catch (RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, null, e);
+            throw e;
+        }
+        this.markClean();
+        this.reportLoad(null, start, buffer.remaining(), false);
     }
 
     /**
      * 从 InputStream 加载配置文件
+     * 加载完成后配置不会被标记为脏
      *
      * @param inputStream 配置文件输入流实例
      */
@@ -159,57 +379,248 @@ public class YamlConfiguration extends MemoryConfiguration {
 
     /**
      * 从 File 加载配置文件
+     * 加载完成后配置与文件内容同步, 不会被标记为脏
+     * 设置了快照缓存时, 如果文件的大小, 修改时间和内容校验值都与快照一致则直接读取快照, 跳过 YAML 解析
      *
      * @param file 配置文件文件实例
      * @throws IOException 如果文件读取失败
      */
     public void load(@NotNull File file) throws IOException {
-        if (!file.exists()) throw new FileNotFoundException("找不到文件: " + file.getPath());
+        YamlSnapshotCache snapshotCache = this.snapshotCache;
+        if (snapshotCache == null) {
+            this.load(file.toPath());
+            return;
+        }
 
-        try (FileInputStream fis = new FileInputStream(file)) {
-            this.load(fis);
+        long start = System.nanoTime();
+        long lastModified;
+        byte[] bytes;
+        try {
+            if (!file.exists()) throw new FileNotFoundException("找不到文件: " + file.getPath());
+
+            lastModified = file.lastModified();
+            bytes = Files.readAllBytes(file.toPath());
+        } catch (IOException | RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, file, e);
+            throw e;
+        }
+        this.load(file, bytes, lastModified, -1, start);
+    }
+
+    /**
+     * 从已经读取的文件内容加载配置文件, 调用方需要自行检查内容时可以避免重复读取文件
+     * 加载完成后配置与文件内容同步, 不会被标记为脏
+     * 设置了快照缓存时按文件的大小, 修改时间和内容校验值读取或写入快照
+     *
+     * @param file         来源文件
+     * @param bytes        文件内容
+     * @param lastModified 读取内容前文件的修改时间
+     * @param checksum     {@link #checksum(byte[])} 计算的内容校验值, 为 -1 时在需要时计算
+     */
+    public void load(@NotNull File file, byte @NotNull [] bytes, long lastModified, long checksum) {
+        this.load(file, bytes, lastModified, checksum, System.nanoTime());
+    }
+
+    /**
+     * 从已经读取的文件内容加载配置文件
+     *
+     * @param file         来源文件
+     * @param bytes        文件内容
+     * @param lastModified 读取内容前文件的修改时间
+     * @param checksum     内容校验值, 为 -1 时在需要时计算
+     * @param start        开始时间
+     */
+    private void load(@NotNull File file, byte @NotNull [] bytes, long lastModified, long checksum, long start) {
+        YamlSnapshotCache snapshotCache = this.snapshotCache;
+        boolean fromSnapshot = false;
+        try {
+            if (snapshotCache == null) this.apply(this.parse(YamlConfiguration.reader(bytes)));
+            else {
+                long hash = checksum != -1 ? checksum : YamlConfiguration.checksum(bytes);
+                SectionData data = snapshotCache.read(file, bytes.length, lastModified, hash);
+                fromSnapshot = data != null;
+                if (data == null) {
+                    data = this.parse(YamlConfiguration.reader(bytes));
+                    if (data != null) snapshotCache.write(file, bytes.length, lastModified, hash, data);
+                }
+                this.apply(data);
+            }
+        } catch (RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, file, e);
+            throw e;
         }
+        this.markClean();
+        this.reportLoad(file, start, bytes.length, fromSnapshot);
+    }
+
+    /**
+     * 从 Path 加载配置文件
+     * 文件内容一次性读入, 以单次 UTF-8 解码完成
+     * 加载完成后配置与文件内容同步, 不会被标记为脏
+     *
+     * @param path 配置文件路径
+     * @throws IOException 如果文件读取失败
+     */
+    public void load(@NotNull Path path) throws IOException {
+        long start = System.nanoTime();
+        long size;
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            size = bytes.length;
+            this.apply(this.parse(YamlConfiguration.reader(bytes)));
+        } catch (NoSuchFileException e) {
+            FileNotFoundException exception = new FileNotFoundException("找不到文件: " + path);
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, path.toFile(), exception);
+            throw exception;
+        } catch (IOException | RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.LOAD, path.toFile(), e);
+            throw e;
+        }
+        this.markClean();
+        this.reportLoad(path.toFile(), start, size, false);
+    }
+
+    /**
+     * 解析 YAML
+     *
+     * @param reader 配置文件读取实例
+     * @return 根节点, 如果文档为空则返回 null
+     */
+    private @Nullable SectionData parse(@NotNull Reader reader) {
+        return new YamlEventLoader(this.loaderOptions, this.constructor).load(reader);
+    }
+
+    /**
+     * 替换根节点数据
+     *
+     * @param data 根节点, 为 null 时保留原有数据
+     */
+    private void apply(@Nullable SectionData data) {
+        if (data != null) this.replaceData(data);
+        else this.markModified();
+    }
+
+    /**
+     * 上报加载指标, 未设置指标实现时不会统计键数量
+     *
+     * @param file         来源文件
+     * @param start        开始时间
+     * @param bytes        读取的字节数
+     * @param fromSnapshot 是否从快照缓存读取
+     */
+    private void reportLoad(@Nullable File file, long start, long bytes, boolean fromSnapshot) {
+        YamlMetrics metrics = this.metrics;
+        if (metrics == YamlMetrics.NOOP) return;
+        metrics.onLoad(file, System.nanoTime() - start, bytes, YamlConfiguration.countNodes(this.data), fromSnapshot);
     }
 
     /**
      * 将配置数据保存到文件
+     * 内容直接流式写入同目录下的临时文件再原子替换目标文件, 写入中途崩溃不会损坏原文件
+     * 如果写出的内容与现有文件完全一致则保留原文件不做替换
+     * 保存完成后配置会被标记为干净, 保存期间发生的修改仍会保持为脏
      *
      * @param file 目标文件实例
      * @throws IOException 如果文件写入失败
      */
     public void save(@NotNull File file) throws IOException {
-        File parent = file.getParentFile();
-        if (parent != null) Files.createDirectories(parent.toPath());
+        long start = System.nanoTime();
+        long version = this.getVersion();
+        Path target = file.getAbsoluteFile().toPath();
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+
+        long size;
+        boolean same;
+        try {
+            Path parent = target.getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+                this.write(writer);
+                writer.flush();
+
+                size = channel.size();
+                same = YamlConfiguration.isSameContent(target, temp, size);
+                if (!same && this.syncOnSave) channel.force(true);
+            }
+            if (same) Files.delete(temp);
+            else YamlConfiguration.moveAtomically(temp, target);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            this.metrics.onFailure(YamlMetrics.Operation.SAVE, file, e);
+            throw e;
+        }
+        this.markClean(version);
+        this.metrics.onSave(file, System.nanoTime() - start, size, !same);
+    }
+
+    /**
+     * 将配置数据以 UTF-8 编码写入输出流
+     * 写入完成后会刷新但不会关闭输出流
+     *
+     * @param outputStream 输出流实例
+     * @throws IOException 如果写入失败
+     */
+    public void save(@NotNull OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        try {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.write(writer);
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.SAVE, null, e);
+            throw e;
+        }
+        this.metrics.onSave(null, System.nanoTime() - start, -1, true);
+    }
 
+    /**
+     * 将配置数据写入 Writer
+     * 写入完成后不会刷新或关闭 Writer
+     *
+     * @param writer Writer 实例
+     * @throws IOException 如果写入失败
+     */
+    public void save(@NotNull Writer writer) throws IOException {
+        long start = System.nanoTime();
+        try {
+            this.write(writer);
+        } catch (IOException | RuntimeException e) {
+            this.metrics.onFailure(YamlMetrics.Operation.SAVE, null, e);
+            throw e;
+        }
+        this.metrics.onSave(null, System.nanoTime() - start, -1, true);
+    }
+
+    /**
+     * 序列化配置数据
+     *
+     * @param writer Writer 实例
+     * @throws IOException 如果写入失败
+     */
+    private void write(@NotNull Writer writer) throws IOException {
         SectionData sectionData = this.data;
         assert sectionData.getData() != null;
         // noinspection unchecked
         MappingNode node = this.representer.mapToMappingNode((Map<String, SectionData>) sectionData.getData());
-        node.setBlockComments(this.representer.getCommentLines(sectionData.getCommentList(), CommentType.BLOCK));
-        node.setInLineComments(this.representer.getCommentLines(sectionData.getInlineCommentList(), CommentType.IN_LINE));
-        node.setEndComments(this.representer.getCommentLines(sectionData.getEndCommentList(), CommentType.BLOCK));
+        node.setBlockComments(this.representer.getCommentLines(sectionData.peekCommentList(), CommentType.BLOCK));
+        node.setInLineComments(this.representer.getCommentLines(sectionData.peekInlineCommentList(), CommentType.IN_LINE));
+        node.setEndComments(this.representer.getCommentLines(sectionData.peekEndCommentList(), CommentType.BLOCK));
 
-        StringWriter stringWriter = new StringWriter();
         if (!YamlConfiguration.isNotNullAndEmpty(node.getBlockComments()) || !YamlConfiguration.isNotNullAndEmpty(node.getEndComments()) || !YamlConfiguration.isNotNullAndEmpty(node.getValue())) {
             if (node.getValue().isEmpty()) node.setFlowStyle(DumperOptions.FlowStyle.FLOW);
-            this.yaml.serialize(node, stringWriter);
-        }
-        String text = stringWriter.toString();
-
-        String[] lines = text.split("\n");
-        List<Integer> replaceLines = this.representer.getFoldLineList();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
-            for (int i = 0; i < lines.length; i++) {
-                String line = lines[i];
-                if (replaceLines.contains(i)) {
-                    line = line.replace("|", ">");
-                }
-                writer.write(line);
-                writer.newLine();
+            try {
+                this.yaml.serialize(node, writer);
+            } catch (YAMLException e) {
+                if (e.getCause() instanceof IOException ex) throw ex;
+                throw e;
             }
         }
-
-        this.representer.getFoldLineList().clear();
     }
 
     /**
@@ -218,6 +629,47 @@ public class YamlConfiguration extends MemoryConfiguration {
      * @return 注释列表
      */
     public @NotNull List<String> getEndCommentList() {
+        if (this.isConcurrent()) return Collections.unmodifiableList(this.getData().peekEndCommentList());
         return this.getData().getEndCommentList();
     }
+
+    /**
+     * 设定尾部块注释
+     *
+     * @param endCommentList 注释列表
+     */
+    public void setEndCommentList(@NotNull List<String> endCommentList) {
+        this.lockComments();
+        try {
+            this.getData().setEndCommentList(this.copyComments(endCommentList));
+            this.markModified();
+        } finally {
+            this.unlockComments();
+        }
+    }
+
+    /**
+     * 直接读取 CharBuffer 的 Reader, 避免再复制一份字符串
+     */
+    private static final class CharBufferReader extends Reader {
+        private final @NotNull CharBuffer buffer;
+
+        private CharBufferReader(@NotNull CharBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read(char @NotNull [] cbuf, int off, int len) {
+            if (len == 0) return 0;
+            if (!this.buffer.hasRemaining()) return -1;
+
+            int count = Math.min(len, this.buffer.remaining());
+            this.buffer.get(cbuf, off, count);
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
@@ -32,7 +32,7 @@ public class YamlConstructor extends SafeConstructor {
      * @return 字符串注释列表
      */
     public @NotNull List<String> getCommentLines(List<CommentLine> comments) {
-        if (YamlConfiguration.isNotNullAndEmpty(comments)) return new ArrayList<>();
+        if (YamlConfiguration.isNotNullAndEmpty(comments)) return List.of();
 
         List<String> lines = new ArrayList<>();
         for (CommentLine comment : comments) {
@@ -45,6 +45,16 @@ public class YamlConstructor extends SafeConstructor {
         return lines;
     }
 
+    /**
+     * 按标签构造标量值, 不会缓存到已构造对象表中
+     *
+     * @param node 标量节点
+     * @return 标量值
+     */
+    protected @Nullable Object constructScalarObject(@NotNull ScalarNode node) {
+        return this.getConstructor(node).construct(node);
+    }
+
     /**
      * 将 SnakeYAML 的 MappingNode 递归转换为 SectionData 结构
      *
@@ -0,0 +1,417 @@
+package cn.chengzhimeow.ccyaml.configuration.yaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.SectionData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.comments.CommentEventsCollector;
+import org.yaml.snakeyaml.comments.CommentLine;
+import org.yaml.snakeyaml.comments.CommentType;
+import org.yaml.snakeyaml.composer.ComposerException;
+import org.yaml.snakeyaml.constructor.DuplicateKeyException;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * 直接消费 SnakeYAML 解析事件构建 SectionData 的加载器
+ * 不会构建完整的 Node 图, 注释的归属规则与 SnakeYAML Composer 保持一致
+ */
+@SuppressWarnings("unused")
+public class YamlEventLoader {
+    private static final int SCALAR = 0;
+    private static final int SEQUENCE = 1;
+    private static final int MAPPING = 2;
+    /**
+     * Resolver 构造后只会被读取, 可以在所有加载器之间共享
+     */
+    private static final @NotNull Resolver RESOLVER = new Resolver();
+
+    private final @NotNull LoaderOptions loaderOptions;
+    private final @NotNull YamlConstructor constructor;
+    private final @NotNull Map<String, Anchor> anchors = new HashMap<>();
+    /**
+     * 正在构建中的锚点, 用于识别引用自身的别名
+     */
+    private final @NotNull Set<String> composingAnchors = new HashSet<>();
+    private Parser parser;
+    private CommentEventsCollector blockCommentsCollector;
+    private CommentEventsCollector inlineCommentsCollector;
+    private int nonScalarAliasesCount;
+    private int nestingDepth;
+
+    // 最近一次构建的节点信息, 由调用方在构建返回后立即读取
+    private int lastKind;
+    private @Nullable Tag lastTag;
+    private @NotNull List<CommentLine> lastBlockComments = List.of();
+    private @NotNull List<CommentLine> lastInlineComments = List.of();
+
+    public YamlEventLoader(@NotNull LoaderOptions loaderOptions, @NotNull YamlConstructor constructor) {
+        this.loaderOptions = loaderOptions;
+        this.constructor = constructor;
+    }
+
+    /**
+     * 从 Reader 加载配置数据
+     *
+     * @param reader 配置文件读取实例
+     * @return 根节点数据, 如果文档为空则返回 null
+     */
+    public @Nullable SectionData load(@NotNull Reader reader) {
+        this.parser = new ParserImpl(new StreamReader(reader), this.loaderOptions);
+        this.blockCommentsCollector = new CommentEventsCollector(this.parser, CommentType.BLANK_LINE, CommentType.BLOCK);
+        this.inlineCommentsCollector = new CommentEventsCollector(this.parser, CommentType.IN_LINE);
+        this.nonScalarAliasesCount = 0;
+        this.nestingDepth = 0;
+
+        try {
+            // 丢弃 STREAM-START 事件
+            this.parser.getEvent();
+
+            SectionData data = null;
+            if (!this.parser.checkEvent(Event.ID.StreamEnd)) data = this.loadDocument();
+
+            if (!this.parser.checkEvent(Event.ID.StreamEnd)) {
+                Event event = this.parser.getEvent();
+                throw new YAMLException("expected a single document in the stream but found another document" + event.getStartMark());
+            }
+            // 丢弃 STREAM-END 事件
+            this.parser.getEvent();
+            return data;
+        } finally {
+            this.anchors.clear();
+            this.composingAnchors.clear();
+            this.parser = null;
+            this.blockCommentsCollector = null;
+            this.inlineCommentsCollector = null;
+        }
+    }
+
+    /**
+     * 加载单个文档
+     *
+     * @return 根节点数据
+     */
+    private @NotNull SectionData loadDocument() {
+        this.blockCommentsCollector.collectEvents();
+        if (this.parser.checkEvent(Event.ID.StreamEnd)) {
+            // 只包含注释的文档
+            SectionData data = new SectionData(new LinkedHashMap<String, SectionData>());
+            data.setCommentList(this.constructor.getCommentLines(this.blockCommentsCollector.consume()));
+            return data;
+        }
+
+        // 丢弃 DOCUMENT-START 事件
+        this.parser.getEvent();
+        Object root = this.composeNode(false);
+        if (this.lastKind != YamlEventLoader.MAPPING)
+            throw new YAMLException("配置文件的根节点必须是 Map");
+
+        SectionData data = (SectionData) root;
+        this.blockCommentsCollector.collectEvents();
+        if (!this.blockCommentsCollector.isEmpty())
+            data.setEndCommentList(this.constructor.getCommentLines(this.blockCommentsCollector.consume()));
+        // 丢弃 DOCUMENT-END 事件
+        this.parser.getEvent();
+        return data;
+    }
+
+    /**
+     * 构建一个节点
+     *
+     * @param inSequence 是否位于序列中, 序列中的 Map 会被转换为 MemoryConfiguration
+     * @return 节点的值, Map 节点返回带注释的 SectionData
+     */
+    private @Nullable Object composeNode(boolean inSequence) {
+        this.blockCommentsCollector.collectEvents();
+
+        Object value;
+        if (this.parser.checkEvent(Event.ID.Alias)) {
+            AliasEvent event = (AliasEvent) this.parser.getEvent();
+            if (this.composingAnchors.contains(event.getAnchor()))
+                throw new LoaderComposerException("found recursive anchor " + event.getAnchor(), event.getStartMark());
+            Anchor anchor = this.anchors.get(event.getAnchor());
+            if (anchor == null) throw new LoaderComposerException("found undefined alias " + event.getAnchor(), event.getStartMark());
+            if (anchor.kind != YamlEventLoader.SCALAR && ++this.nonScalarAliasesCount > this.loaderOptions.getMaxAliasesForCollections())
+                throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max=" + this.loaderOptions.getMaxAliasesForCollections());
+
+            // 别名上的注释无法保留
+            this.blockCommentsCollector.consume();
+            this.inlineCommentsCollector.collectEvents().consume();
+
+            this.lastKind = anchor.kind;
+            this.lastTag = anchor.tag;
+            this.lastBlockComments = anchor.blockComments;
+            this.lastInlineComments = anchor.inlineComments;
+            value = anchor.kind == YamlEventLoader.MAPPING ? YamlEventLoader.copySectionData((SectionData) anchor.value) : anchor.value;
+        } else {
+            String anchor = ((NodeEvent) this.parser.peekEvent()).getAnchor();
+            if (anchor != null) this.composingAnchors.add(anchor);
+            this.increaseNestingDepth();
+            if (this.parser.checkEvent(Event.ID.Scalar)) value = this.composeScalar(this.blockCommentsCollector.consume());
+            else if (this.parser.checkEvent(Event.ID.SequenceStart)) value = this.composeSequence();
+            else value = this.composeMapping();
+            this.nestingDepth--;
+            if (anchor != null) this.composingAnchors.remove(anchor);
+
+            // 锚点保存首次构建的结果, 后续别名引用 Map 时会深拷贝
+            if (anchor != null)
+                this.anchors.put(anchor, new Anchor(this.lastKind, this.lastTag, value, this.lastBlockComments, this.lastInlineComments));
+        }
+
+        if (inSequence && this.lastKind == YamlEventLoader.MAPPING) return YamlEventLoader.toConfiguration((SectionData) value);
+        return value;
+    }
+
+    /**
+     * 构建标量节点
+     *
+     * @param blockComments 块注释
+     * @return 标量值
+     */
+    private @Nullable Object composeScalar(@NotNull List<CommentLine> blockComments) {
+        ScalarEvent event = (ScalarEvent) this.parser.getEvent();
+        Tag tag = this.resolveTag(event.getTag(), NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar(), event);
+
+        Object value;
+        if (tag.equals(Tag.MERGE)) value = null;
+        else if (tag.equals(Tag.STR))
+            value = new YamlStringSectionData(event.getValue(), event.getScalarStyle());
+        else
+            value = this.constructor.constructScalarObject(new ScalarNode(tag, event.getValue(), event.getStartMark(), event.getEndMark(), event.getScalarStyle()));
+
+        this.lastKind = YamlEventLoader.SCALAR;
+        this.lastTag = tag;
+        this.lastBlockComments = blockComments;
+        this.lastInlineComments = this.inlineCommentsCollector.collectEvents().consume();
+        return value;
+    }
+
+    /**
+     * 构建序列节点, 序列内部的注释不会被保留
+     *
+     * @return 列表
+     */
+    private @NotNull List<?> composeSequence() {
+        SequenceStartEvent event = (SequenceStartEvent) this.parser.getEvent();
+        Tag tag = this.resolveTag(event.getTag(), NodeId.sequence, null, event.getImplicit(), event);
+
+        List<CommentLine> blockComments = event.isFlow() ? this.blockCommentsCollector.consume() : List.of();
+        List<Object> list = new ArrayList<>();
+        while (!this.parser.checkEvent(Event.ID.SequenceEnd)) {
+            this.blockCommentsCollector.collectEvents();
+            if (this.parser.checkEvent(Event.ID.SequenceEnd)) break;
+            list.add(this.composeNode(true));
+        }
+
+        List<CommentLine> inlineComments = List.of();
+        if (event.isFlow()) inlineComments = this.inlineCommentsCollector.collectEvents().consume();
+        this.parser.getEvent();
+        this.inlineCommentsCollector.collectEvents();
+        if (!this.inlineCommentsCollector.isEmpty()) inlineComments = this.inlineCommentsCollector.consume();
+
+        this.lastKind = YamlEventLoader.SEQUENCE;
+        this.lastTag = tag;
+        this.lastBlockComments = blockComments;
+        this.lastInlineComments = inlineComments;
+        return list;
+    }
+
+    /**
+     * 构建 Map 节点, 同时处理合并键 ({@code <<})
+     * 重复的键与 SnakeYAML 的处理一致: 不允许重复键时抛出 DuplicateKeyException, 否则保留后出现的键值对
+     * 合并进来的键不算重复, 会被显式的键覆盖
+     *
+     * @return 带注释的 SectionData
+     */
+    private @NotNull SectionData composeMapping() {
+        MappingStartEvent event = (MappingStartEvent) this.parser.getEvent();
+        Tag tag = this.resolveTag(event.getTag(), NodeId.mapping, null, event.getImplicit(), event);
+
+        List<CommentLine> blockComments = event.isFlow() ? this.blockCommentsCollector.consume() : List.of();
+        Map<String, SectionData> map = new LinkedHashMap<>();
+        Set<String> mergedKeys = null;
+        while (!this.parser.checkEvent(Event.ID.MappingEnd)) {
+            this.blockCommentsCollector.collectEvents();
+            if (this.parser.checkEvent(Event.ID.MappingEnd)) break;
+
+            Mark keyMark = this.parser.peekEvent().getStartMark();
+            Object key = this.composeNode(false);
+            boolean merge = this.lastKind == YamlEventLoader.SCALAR && Tag.MERGE.equals(this.lastTag);
+            List<CommentLine> keyBlockComments = this.lastBlockComments;
+            List<CommentLine> keyInlineComments = this.lastInlineComments;
+
+            Object value = this.composeNode(false);
+            if (merge) {
+                if (mergedKeys == null) mergedKeys = new HashSet<>();
+                this.merge(map, value, mergedKeys);
+                continue;
+            }
+
+            SectionData sectionData = this.lastKind == YamlEventLoader.MAPPING ? (SectionData) value : new SectionData(value);
+            sectionData.setCommentList(this.constructor.getCommentLines(keyBlockComments));
+            if (this.lastKind == YamlEventLoader.SCALAR)
+                sectionData.setInlineCommentList(this.constructor.getCommentLines(this.lastInlineComments));
+            else sectionData.setInlineCommentList(this.constructor.getCommentLines(keyInlineComments));
+
+            String keyString = String.valueOf(key instanceof SectionData data ? YamlEventLoader.toConfiguration(data) : key);
+            if (map.containsKey(keyString) && (mergedKeys == null || !mergedKeys.remove(keyString))) {
+                if (!this.loaderOptions.isAllowDuplicateKeys())
+                    throw new LoaderDuplicateKeyException(event.getStartMark(), keyString, keyMark);
+                map.remove(keyString);
+            }
+            map.put(keyString, sectionData);
+        }
+
+        List<CommentLine> inlineComments = List.of();
+        if (event.isFlow()) inlineComments = this.inlineCommentsCollector.collectEvents().consume();
+        this.parser.getEvent();
+        this.inlineCommentsCollector.collectEvents();
+        if (!this.inlineCommentsCollector.isEmpty()) inlineComments = this.inlineCommentsCollector.consume();
+
+        SectionData data = new SectionData(map);
+        data.setCommentList(this.constructor.getCommentLines(blockComments));
+        data.setInlineCommentList(this.constructor.getCommentLines(inlineComments));
+
+        this.lastKind = YamlEventLoader.MAPPING;
+        this.lastTag = tag;
+        this.lastBlockComments = blockComments;
+        this.lastInlineComments = inlineComments;
+        return data;
+    }
+
+    /**
+     * 将合并键的值合并进当前 Map, 已存在的键不会被覆盖
+     *
+     * @param map        当前 Map
+     * @param value      合并键的值
+     * @param mergedKeys 由合并加入的键
+     */
+    private void merge(@NotNull Map<String, SectionData> map, @Nullable Object value, @NotNull Set<String> mergedKeys) {
+        if (value instanceof SectionData data && data.getData() instanceof Map<?, ?> source) {
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                String key = (String) entry.getKey();
+                if (map.containsKey(key)) continue;
+
+                map.put(key, YamlEventLoader.copySectionData((SectionData) entry.getValue()));
+                mergedKeys.add(key);
+            }
+        } else if (value instanceof ConfigurationSection section) {
+            this.merge(map, section.getData(), mergedKeys);
+        } else if (value instanceof List<?> list) {
+            for (Object o : list) {
+                if (!(o instanceof ConfigurationSection))
+                    throw new YAMLException("expected a mapping for merging, but found " + o);
+                this.merge(map, o, mergedKeys);
+            }
+        } else throw new YAMLException("expected a mapping or list of mappings for merging, but found " + value);
+    }
+
+    /**
+     * 解析节点标签
+     *
+     * @param tag      事件中的标签
+     * @param nodeId   节点类型
+     * @param value    标量值
+     * @param implicit 是否隐式标签
+     * @param event    事件
+     * @return 标签
+     */
+    private @NotNull Tag resolveTag(@Nullable String tag, @NotNull NodeId nodeId, @Nullable String value, boolean implicit, @NotNull Event event) {
+        if (tag == null || tag.equals("!")) return YamlEventLoader.RESOLVER.resolve(nodeId, value, implicit);
+
+        Tag nodeTag = new Tag(tag);
+        if (nodeTag.isCustomGlobal() && !this.loaderOptions.getTagInspector().isGlobalTagAllowed(nodeTag))
+            throw new YAMLException("Global tag is not allowed: " + tag + event.getStartMark());
+        return nodeTag;
+    }
+
+    private void increaseNestingDepth() {
+        if (this.nestingDepth > this.loaderOptions.getNestingDepthLimit())
+            throw new YAMLException("Nesting Depth exceeded max " + this.loaderOptions.getNestingDepthLimit());
+        this.nestingDepth++;
+    }
+
+    /**
+     * 深拷贝 Map 结构的 SectionData, 叶子值共享
+     *
+     * @param sectionData 源数据
+     * @return 拷贝
+     */
+    private static @NotNull SectionData copySectionData(@NotNull SectionData sectionData) {
+        Object data = sectionData.getData();
+        SectionData copy;
+        if (data instanceof Map<?, ?> source) {
+            Map<String, SectionData> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                map.put((String) entry.getKey(), YamlEventLoader.copySectionData((SectionData) entry.getValue()));
+            }
+            copy = new SectionData(map);
+        } else copy = new SectionData(data);
+
+        copy.setCommentList(sectionData.peekCommentList());
+        copy.setInlineCommentList(sectionData.peekInlineCommentList());
+        copy.setEndCommentList(sectionData.peekEndCommentList());
+        return copy;
+    }
+
+    /**
+     * 将带注释的 Map 结构转换为不带注释的 MemoryConfiguration, 与 YamlConstructor 构建序列中 Map 的结果一致
+     *
+     * @param sectionData Map 结构的 SectionData
+     * @return 配置节点
+     */
+    private static @NotNull MemoryConfiguration toConfiguration(@NotNull SectionData sectionData) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        if (sectionData.getData() instanceof Map<?, ?> source) {
+            for (Map.Entry<?, ?> entry : source.entrySet()) {
+                SectionData value = (SectionData) entry.getValue();
+                if (value.getData() instanceof Map) out.put((String) entry.getKey(), YamlEventLoader.toConfiguration(value));
+                else out.put((String) entry.getKey(), value.getData());
+            }
+        }
+
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        configuration.getData().setData(out);
+        return configuration;
+    }
+
+    /**
+     * 与 Composer 相同的组合错误, SnakeYAML 没有公开 ComposerException 的构造函数
+     */
+    private static final class LoaderComposerException extends ComposerException {
+        private LoaderComposerException(@NotNull String problem, @Nullable Mark problemMark) {
+            super(null, null, problem, problemMark);
+        }
+    }
+
+    /**
+     * 与 SafeConstructor 相同的重复键错误, SnakeYAML 没有公开 DuplicateKeyException 的构造函数
+     */
+    private static final class LoaderDuplicateKeyException extends DuplicateKeyException {
+        private LoaderDuplicateKeyException(@Nullable Mark contextMark, @NotNull Object key, @Nullable Mark problemMark) {
+            super(contextMark, key, problemMark);
+        }
+    }
+
+    private record Anchor(
+            int kind,
+            @Nullable Tag tag,
+            @Nullable Object value,
+            @NotNull List<CommentLine> blockComments,
+            @NotNull List<CommentLine> inlineComments
+    ) {
+    }
+}
@@ -1,7 +1,6 @@
 package cn.chengzhimeow.ccyaml.configuration.yaml;
 
 import cn.chengzhimeow.ccyaml.configuration.*;
-import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.comments.CommentLine;
@@ -16,9 +15,6 @@ import java.util.Map;
 
 @SuppressWarnings("unused")
 public class YamlRepresenter extends Representer {
-    @Getter
-    private final @NotNull List<Integer> foldLineList = new ArrayList<>();
-
     public YamlRepresenter(DumperOptions options) {
         super(options);
         this.representers.put(StringSection.class, new StringSectionDataRepresenter(this));
@@ -28,6 +24,7 @@ public class YamlRepresenter extends Representer {
         this.representers.put(ConfigurationSection.class, new ConfigurationSectionRepresenter(this));
         this.representers.put(MemoryConfiguration.class, new ConfigurationSectionRepresenter(this));
         this.representers.put(YamlConfiguration.class, new ConfigurationSectionRepresenter(this));
+        this.representers.put(FrozenConfiguration.class, new ConfigurationSectionRepresenter(this));
     }
 
     /**
@@ -74,11 +71,11 @@ public class YamlRepresenter extends Representer {
             else valueNode = this.represent(data);
 
             // 应用注释
-            List<String> commentList = sectionData.getCommentList();
+            List<String> commentList = sectionData.peekCommentList();
             if (commentList.isEmpty()) keyNode.setBlockComments(null);
             else keyNode.setBlockComments(this.getCommentLines(commentList, CommentType.BLOCK));
 
-            List<String> inlineCommentList = sectionData.getInlineCommentList();
+            List<String> inlineCommentList = sectionData.peekInlineCommentList();
             if (valueNode instanceof MappingNode || valueNode instanceof SequenceNode)
                 keyNode.setInLineComments(this.getCommentLines(inlineCommentList, CommentType.IN_LINE));
             else valueNode.setInLineComments(this.getCommentLines(inlineCommentList, CommentType.IN_LINE));
@@ -97,13 +94,9 @@ public class YamlRepresenter extends Representer {
             StringSection styledString = (StringSection) o;
             String value = styledString.getValue();
 
-            if (styledString instanceof YamlStringSectionData yamlStringSectionData) {
-                if (value != null && yamlStringSectionData.node().getScalarStyle() == DumperOptions.ScalarStyle.FOLDED) {
-                    this.representer.foldLineList.add(yamlStringSectionData.node().getStartMark().getLine());
-                    return this.representer.representScalar(Tag.STR, value.replace(" ", "\n"), DumperOptions.ScalarStyle.LITERAL);
-                } else
-                    return this.representer.representScalar(Tag.STR, value, yamlStringSectionData.node().getScalarStyle());
-            } else return this.representer.representScalar(Tag.STR, value, DumperOptions.ScalarStyle.PLAIN);
+            if (styledString instanceof YamlStringSectionData yamlStringSectionData)
+                return this.representer.representScalar(Tag.STR, value, yamlStringSectionData.getScalarStyle());
+            else return this.representer.representScalar(Tag.STR, value, DumperOptions.ScalarStyle.PLAIN);
         }
     }
 
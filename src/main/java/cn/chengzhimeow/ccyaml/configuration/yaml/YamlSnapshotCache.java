@@ -0,0 +1,468 @@
+package cn.chengzhimeow.ccyaml.configuration.yaml;
+
+import cn.chengzhimeow.ccyaml.configuration.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * 已解析配置树的二进制快照缓存
+ * 快照保存 SectionData 树的数据, 注释和标量样式, 并记录源文件的大小, 修改时间和内容校验值
+ * 三者全部一致时直接读取快照, 否则视为失效
+ * 快照读写失败不会影响配置加载, 只会退回到重新解析 YAML
+ */
+@SuppressWarnings("unused")
+public final class YamlSnapshotCache {
+    private static final int MAGIC = 0x43435953;
+    private static final int FORMAT_VERSION = 2;
+    private static final String SUFFIX = ".ccsnap";
+
+    private static final byte NULL = 0;
+    private static final byte SECTION_MAP = 1;
+    private static final byte CONFIGURATION = 2;
+    private static final byte LIST = 3;
+    private static final byte INT_LIST = 4;
+    private static final byte LONG_LIST = 5;
+    private static final byte DOUBLE_LIST = 6;
+    private static final byte YAML_STRING = 7;
+    private static final byte STRING = 8;
+    private static final byte INT = 9;
+    private static final byte LONG = 10;
+    private static final byte DOUBLE = 11;
+    private static final byte BOOLEAN = 12;
+    private static final byte BIG_INTEGER = 13;
+    private static final byte DATE = 14;
+    private static final byte BINARY = 15;
+
+    private static final DumperOptions.ScalarStyle[] STYLES = DumperOptions.ScalarStyle.values();
+
+    /**
+     * 创建将快照保存在源文件旁的缓存, 快照文件名为 .&lt;文件名&gt;.ccsnap
+     *
+     * @return 快照缓存
+     */
+    public static @NotNull YamlSnapshotCache sidecar() {
+        return new YamlSnapshotCache(null);
+    }
+
+    /**
+     * 创建将快照集中保存在指定目录的缓存
+     *
+     * @param directory 缓存目录
+     * @return 快照缓存
+     */
+    public static @NotNull YamlSnapshotCache directory(@NotNull File directory) {
+        return new YamlSnapshotCache(directory.getAbsoluteFile().toPath());
+    }
+
+    /**
+     * 检查文件是否为快照文件或快照写入过程中的临时文件
+     *
+     * @param file 文件实例
+     * @return 结果
+     */
+    public static boolean isSnapshotFile(@NotNull File file) {
+        String name = file.getName();
+        return name.endsWith(YamlSnapshotCache.SUFFIX) || name.contains(YamlSnapshotCache.SUFFIX + ".");
+    }
+
+    /**
+     * 写入可为 null 的字符串, 不受 writeUTF 的 64K 长度限制
+     *
+     * @param out   输出流
+     * @param value 字符串
+     * @throws IOException 如果写入失败
+     */
+    private static void writeString(@NotNull DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * 检查长度或元素数量, 剩余的字节数必须足够容纳这些元素
+     * 损坏的快照可能给出巨大或负数的长度, 提前检查可以避免按该长度分配内存
+     *
+     * @param in          输入流, 需要能准确返回剩余的字节数
+     * @param length      长度
+     * @param elementSize 每个元素至少占用的字节数
+     * @return 长度
+     * @throws IOException 如果读取失败或长度超出剩余的字节数
+     */
+    private static int checkLength(@NotNull DataInputStream in, int length, int elementSize) throws IOException {
+        if (length < 0 || (long) length * elementSize > in.available())
+            throw new StreamCorruptedException("快照中的长度超出剩余数据: " + length);
+        return length;
+    }
+
+    /**
+     * 读取可为 null 的字符串
+     *
+     * @param in 输入流
+     * @return 字符串
+     * @throws IOException 如果读取失败
+     */
+    private static @Nullable String readString(@NotNull DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == -1) return null;
+
+        byte[] bytes = new byte[YamlSnapshotCache.checkLength(in, length, 1)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 写入注释列表, 列表中的 null 表示空行
+     *
+     * @param out  输出流
+     * @param list 注释列表
+     * @throws IOException 如果写入失败
+     */
+    private static void writeComments(@NotNull DataOutputStream out, @NotNull List<String> list) throws IOException {
+        out.writeInt(list.size());
+        for (String comment : list) YamlSnapshotCache.writeString(out, comment);
+    }
+
+    /**
+     * 读取注释列表
+     *
+     * @param in 输入流
+     * @return 注释列表
+     * @throws IOException 如果读取失败
+     */
+    private static @NotNull List<String> readComments(@NotNull DataInputStream in) throws IOException {
+        int size = YamlSnapshotCache.checkLength(in, in.readInt(), Integer.BYTES);
+        if (size == 0) return List.of();
+
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) list.add(YamlSnapshotCache.readString(in));
+        return list;
+    }
+
+    /**
+     * 检查列表是否非空且所有元素都是指定类型, 这样的列表会以原始类型紧凑写入
+     *
+     * @param list 列表
+     * @param type 元素类型
+     * @return 结果
+     */
+    private static boolean isListOf(@NotNull List<?> list, @NotNull Class<?> type) {
+        if (list.isEmpty()) return false;
+        for (Object o : list) {
+            if (o == null || o.getClass() != type) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 写入 SectionData 及其注释
+     *
+     * @param out         输出流
+     * @param sectionData SectionData
+     * @throws IOException 如果写入失败
+     */
+    private static void writeSectionData(@NotNull DataOutputStream out, @NotNull SectionData sectionData) throws IOException {
+        YamlSnapshotCache.writeComments(out, sectionData.peekCommentList());
+        YamlSnapshotCache.writeComments(out, sectionData.peekInlineCommentList());
+        YamlSnapshotCache.writeComments(out, sectionData.peekEndCommentList());
+        YamlSnapshotCache.writeValue(out, sectionData.getData());
+    }
+
+    /**
+     * 读取 SectionData 及其注释
+     *
+     * @param in 输入流
+     * @return SectionData
+     * @throws IOException 如果读取失败
+     */
+    private static @NotNull SectionData readSectionData(@NotNull DataInputStream in) throws IOException {
+        List<String> commentList = YamlSnapshotCache.readComments(in);
+        List<String> inlineCommentList = YamlSnapshotCache.readComments(in);
+        List<String> endCommentList = YamlSnapshotCache.readComments(in);
+
+        SectionData sectionData = new SectionData(YamlSnapshotCache.readValue(in));
+        sectionData.setCommentList(commentList);
+        sectionData.setInlineCommentList(inlineCommentList);
+        sectionData.setEndCommentList(endCommentList);
+        return sectionData;
+    }
+
+    /**
+     * 写入单个值
+     *
+     * @param out   输出流
+     * @param value 值
+     * @throws IOException 如果写入失败或值的类型无法写入快照
+     */
+    private static void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null) out.writeByte(YamlSnapshotCache.NULL);
+        else if (value instanceof Map<?, ?> map) {
+            out.writeByte(YamlSnapshotCache.SECTION_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String key) || !(entry.getValue() instanceof SectionData sectionData))
+                    throw new NotSerializableException("快照只支持 String 键和 SectionData 值的 Map");
+                YamlSnapshotCache.writeString(out, key);
+                YamlSnapshotCache.writeSectionData(out, sectionData);
+            }
+        } else if (value instanceof MemoryConfiguration configuration && configuration.getData().getData() instanceof Map<?, ?> map) {
+            out.writeByte(YamlSnapshotCache.CONFIGURATION);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String key))
+                    throw new NotSerializableException("快照只支持 String 键的配置节点");
+                YamlSnapshotCache.writeString(out, key);
+
+                // 配置节点的值可能是原始值, 也可能是带注释的 SectionData
+                if (entry.getValue() instanceof SectionData sectionData) {
+                    out.writeBoolean(true);
+                    YamlSnapshotCache.writeSectionData(out, sectionData);
+                } else {
+                    out.writeBoolean(false);
+                    YamlSnapshotCache.writeValue(out, entry.getValue());
+                }
+            }
+        } else if (value instanceof List<?> list && YamlSnapshotCache.isListOf(list, Integer.class)) {
+            out.writeByte(YamlSnapshotCache.INT_LIST);
+            out.writeInt(list.size());
+            for (Object o : list) out.writeInt((Integer) o);
+        } else if (value instanceof List<?> list && YamlSnapshotCache.isListOf(list, Long.class)) {
+            out.writeByte(YamlSnapshotCache.LONG_LIST);
+            out.writeInt(list.size());
+            for (Object o : list) out.writeLong((Long) o);
+        } else if (value instanceof List<?> list && YamlSnapshotCache.isListOf(list, Double.class)) {
+            out.writeByte(YamlSnapshotCache.DOUBLE_LIST);
+            out.writeInt(list.size());
+            for (Object o : list) out.writeDouble((Double) o);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(YamlSnapshotCache.LIST);
+            out.writeInt(list.size());
+            for (Object o : list) YamlSnapshotCache.writeValue(out, o);
+        } else if (value instanceof YamlStringSectionData str) {
+            out.writeByte(YamlSnapshotCache.YAML_STRING);
+            out.writeByte(str.getScalarStyle().ordinal());
+            YamlSnapshotCache.writeString(out, str.getValue());
+        } else if (value instanceof String str) {
+            out.writeByte(YamlSnapshotCache.STRING);
+            YamlSnapshotCache.writeString(out, str);
+        } else if (value instanceof Integer i) {
+            out.writeByte(YamlSnapshotCache.INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(YamlSnapshotCache.LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double d) {
+            out.writeByte(YamlSnapshotCache.DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(YamlSnapshotCache.BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof BigInteger bigInteger) {
+            out.writeByte(YamlSnapshotCache.BIG_INTEGER);
+            YamlSnapshotCache.writeString(out, bigInteger.toString());
+        } else if (value instanceof Date date && value.getClass() == Date.class) {
+            out.writeByte(YamlSnapshotCache.DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof byte[] bytes) {
+            out.writeByte(YamlSnapshotCache.BINARY);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else throw new NotSerializableException(value.getClass().getName());
+    }
+
+    /**
+     * 读取单个值
+     *
+     * @param in 输入流
+     * @return 值
+     * @throws IOException 如果读取失败或快照已损坏
+     */
+    private static @Nullable Object readValue(@NotNull DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case YamlSnapshotCache.NULL -> {
+                return null;
+            }
+            case YamlSnapshotCache.SECTION_MAP -> {
+                int size = YamlSnapshotCache.checkLength(in, in.readInt(), Integer.BYTES);
+                Map<String, SectionData> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) map.put(YamlSnapshotCache.readString(in), YamlSnapshotCache.readSectionData(in));
+                return map;
+            }
+            case YamlSnapshotCache.CONFIGURATION -> {
+                int size = YamlSnapshotCache.checkLength(in, in.readInt(), Integer.BYTES + 1);
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = YamlSnapshotCache.readString(in);
+                    map.put(key, in.readBoolean() ? YamlSnapshotCache.readSectionData(in) : YamlSnapshotCache.readValue(in));
+                }
+
+                MemoryConfiguration configuration = MemoryConfiguration.empty();
+                configuration.getData().setData(map);
+                return configuration;
+            }
+            case YamlSnapshotCache.LIST -> {
+                int size = YamlSnapshotCache.checkLength(in, in.readInt(), 1);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(YamlSnapshotCache.readValue(in));
+                return list;
+            }
+            case YamlSnapshotCache.INT_LIST -> {
+                int size = YamlSnapshotCache.checkLength(in, in.readInt(), Integer.BYTES);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(in.readInt());
+                return list;
+            }
+            case YamlSnapshotCache.LONG_LIST -> {
+                int size = YamlSnapshotCache.checkLength(in, in.readInt(), Long.BYTES);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(in.readLong());
+                return list;
+            }
+            case YamlSnapshotCache.DOUBLE_LIST -> {
+                int size = YamlSnapshotCache.checkLength(in, in.readInt(), Double.BYTES);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(in.readDouble());
+                return list;
+            }
+            case YamlSnapshotCache.YAML_STRING -> {
+                int style = in.readByte();
+                if (style < 0 || style >= YamlSnapshotCache.STYLES.length) throw new StreamCorruptedException("未知的标量样式: " + style);
+                return new YamlStringSectionData(YamlSnapshotCache.readString(in), YamlSnapshotCache.STYLES[style]);
+            }
+            case YamlSnapshotCache.STRING -> {
+                return YamlSnapshotCache.readString(in);
+            }
+            case YamlSnapshotCache.INT -> {
+                return in.readInt();
+            }
+            case YamlSnapshotCache.LONG -> {
+                return in.readLong();
+            }
+            case YamlSnapshotCache.DOUBLE -> {
+                return in.readDouble();
+            }
+            case YamlSnapshotCache.BOOLEAN -> {
+                return in.readBoolean();
+            }
+            case YamlSnapshotCache.BIG_INTEGER -> {
+                return new BigInteger(Objects.requireNonNull(YamlSnapshotCache.readString(in)));
+            }
+            case YamlSnapshotCache.DATE -> {
+                return new Date(in.readLong());
+            }
+            case YamlSnapshotCache.BINARY -> {
+                byte[] bytes = new byte[YamlSnapshotCache.checkLength(in, in.readInt(), 1)];
+                in.readFully(bytes);
+                return bytes;
+            }
+            default -> throw new StreamCorruptedException("未知的快照数据类型: " + type);
+        }
+    }
+    private final @Nullable Path directory;
+
+    private YamlSnapshotCache(@Nullable Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * 获取源文件对应的快照文件
+     *
+     * @param source 源文件
+     * @return 快照文件路径
+     */
+    public @NotNull Path getSnapshotPath(@NotNull File source) {
+        Path path = source.getAbsoluteFile().toPath();
+        if (this.directory == null) return path.resolveSibling("." + path.getFileName() + YamlSnapshotCache.SUFFIX);
+        return this.directory.resolve(Integer.toHexString(path.toString().hashCode()) + "-" + path.getFileName() + YamlSnapshotCache.SUFFIX);
+    }
+
+    /**
+     * 读取快照
+     *
+     * @param source       源文件
+     * @param length       源文件大小
+     * @param lastModified 源文件修改时间
+     * @param hash         源文件内容校验值
+     * @return 快照中的配置树, 如果快照不存在, 已失效或已损坏则返回 null
+     */
+    public @Nullable SectionData read(@NotNull File source, long length, long lastModified, long hash) {
+        Path path = this.getSnapshotPath(source);
+        if (!Files.isRegularFile(path)) return null;
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)))) {
+            if (in.readInt() != YamlSnapshotCache.MAGIC || in.readInt() != YamlSnapshotCache.FORMAT_VERSION) return null;
+            if (!source.getAbsolutePath().equals(YamlSnapshotCache.readString(in))) return null;
+            if (in.readLong() != length || in.readLong() != lastModified || in.readLong() != hash) return null;
+
+            return YamlSnapshotCache.readSectionData(in);
+        } catch (IOException | RuntimeException e) {
+            this.invalidate(source);
+            return null;
+        }
+    }
+
+    /**
+     * 写入快照, 配置树中存在无法写入的值类型时不会生成快照
+     *
+     * @param source       源文件
+     * @param length       源文件大小
+     * @param lastModified 源文件修改时间
+     * @param hash         源文件内容校验值
+     * @param sectionData  配置树
+     */
+    public void write(@NotNull File source, long length, long lastModified, long hash, @NotNull SectionData sectionData) {
+        Path path = this.getSnapshotPath(source);
+        Path temp = path.resolveSibling(path.getFileName() + "." + Long.toHexString(System.nanoTime()) + ".tmp");
+        try {
+            Path parent = path.getParent();
+            if (parent != null) Files.createDirectories(parent);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)))) {
+                out.writeInt(YamlSnapshotCache.MAGIC);
+                out.writeInt(YamlSnapshotCache.FORMAT_VERSION);
+                YamlSnapshotCache.writeString(out, source.getAbsolutePath());
+                out.writeLong(length);
+                out.writeLong(lastModified);
+                out.writeLong(hash);
+                YamlSnapshotCache.writeSectionData(out, sectionData);
+            }
+
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException ignored) {
+            this.invalidate(source);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * 删除源文件对应的快照
+     *
+     * @param source 源文件
+     */
+    public void invalidate(@NotNull File source) {
+        try {
+            Files.deleteIfExists(this.getSnapshotPath(source));
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -3,22 +3,35 @@ package cn.chengzhimeow.ccyaml.configuration.yaml;
 import cn.chengzhimeow.ccyaml.configuration.StringSection;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.nodes.ScalarNode;
 
 @SuppressWarnings("unused")
 public class YamlStringSectionData extends StringSection {
-    private final @NotNull ScalarNode value;
+    private static final DumperOptions.ScalarStyle[] STYLES = DumperOptions.ScalarStyle.values();
+    private final @Nullable String value;
+    private final byte style;
 
-    public YamlStringSectionData(@NotNull ScalarNode value) {
+    public YamlStringSectionData(@Nullable String value, @NotNull DumperOptions.ScalarStyle style) {
         this.value = value;
+        this.style = (byte) style.ordinal();
+    }
+
+    public YamlStringSectionData(@NotNull ScalarNode node) {
+        this(node.getValue(), node.getScalarStyle());
     }
 
     @Override
     public @Nullable String getValue() {
-        return this.value.getValue();
+        return this.value;
     }
 
-    public @NotNull ScalarNode node() {
-        return this.value;
+    /**
+     * 获取原始标量样式
+     *
+     * @return 标量样式
+     */
+    public @NotNull DumperOptions.ScalarStyle getScalarStyle() {
+        return YamlStringSectionData.STYLES[this.style];
     }
 }
@@ -1,30 +1,87 @@
 package cn.chengzhimeow.ccyaml.manager;
 
 import cn.chengzhimeow.ccyaml.CCYaml;
+import cn.chengzhimeow.ccyaml.configuration.ConfigPath;
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.StringSection;
 import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlSnapshotCache;
+import cn.chengzhimeow.ccyaml.metrics.YamlMetrics;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @SuppressWarnings("unused")
 public abstract class AbstractFolderYamlManager {
     private final @NotNull CCYaml instance;
     @Getter
-    private @NotNull Map<File, YamlConfiguration> fileHashMap;
+    private volatile @NotNull Map<File, YamlConfiguration> fileHashMap;
     private @Nullable File folder;
+    /**
+     * 并行重载使用的线程池, 为 null 时在调用线程上顺序重载
+     */
+    @Getter
+    @Setter
+    private @Nullable Executor reloadExecutor;
+    /**
+     * 上一次并行重载中加载失败的文件
+     */
+    @Getter
+    private volatile @NotNull Map<File, Throwable> failedFileMap = Map.of();
+    /**
+     * 上一次加载或保存时记录的文件元数据, 用于增量重载
+     */
+    private volatile @NotNull Map<File, FileMeta> fileMetaMap = new ConcurrentHashMap<>();
+    /**
+     * 增量重载时, 修改时间或大小变化后是否再比较内容校验值
+     */
+    @Getter
+    @Setter
+    private boolean contentHashCheck;
+    private @Nullable FileWatcher watcher;
+    /**
+     * 跨文件的二级索引, 键为被索引的路径
+     * 所有索引的读写都需要持有该 Map 的锁
+     */
+    private final @NotNull Map<String, PathIndex> indexMap = new ConcurrentHashMap<>();
+    /**
+     * 被 set 修改过, 在下一次查询前需要刷新索引的文件
+     */
+    private final @NotNull Set<File> staleIndexFiles = ConcurrentHashMap.newKeySet();
+    /**
+     * 各文件用于标记索引过期的修改回调, 需要持有索引锁
+     */
+    private final @NotNull Map<File, Runnable> indexListenerMap = new HashMap<>();
 
     public AbstractFolderYamlManager(@NotNull CCYaml instance) {
         this.instance = instance;
         this.fileHashMap = new HashMap<>();
     }
 
+    /**
+     * 检查文件是否为配置文件, 快照缓存文件和保存时残留的临时文件不是配置文件
+     *
+     * @param file 文件实例
+     * @return 结果
+     */
+    private static boolean isConfigFile(@NotNull File file) {
+        return !YamlSnapshotCache.isSnapshotFile(file) && !YamlConfiguration.isTempFile(file);
+    }
+
     /**
      * 源文件路径字符串
      */
@@ -56,23 +113,608 @@ public abstract class AbstractFolderYamlManager {
     /**
      * 保存文件
      */
-    @SneakyThrows
     public void save() {
+        this.save(true);
+    }
+
+    /**
+     * 只保存有未保存修改或文件不存在的配置
+     * 修改列表中的配置节点等不经过配置本身的操作不会被记录为修改, 这种情况需要使用 {@link #save()}
+     */
+    public void saveIfDirty() {
+        this.save(false);
+    }
+
+    /**
+     * 保存所有文件
+     *
+     * @param force 为 true 时即使配置没有修改也会写入
+     */
+    @SneakyThrows
+    private void save(boolean force) {
+        long start = System.nanoTime();
+        int written = 0;
+        int skipped = 0;
         for (Map.Entry<File, YamlConfiguration> entry : this.fileHashMap.entrySet()) {
-            entry.getValue().save(entry.getKey());
+            File file = entry.getKey();
+            YamlConfiguration configuration = entry.getValue();
+            if (!force && !configuration.isDirty() && file.exists()) {
+                skipped++;
+                continue;
+            }
+
+            configuration.save(file);
+            this.fileMetaMap.put(file, this.readMeta(file));
+            written++;
         }
+        this.instance.getMetrics().onSaveAll(this, System.nanoTime() - start, written, skipped);
     }
 
     /**
      * 重载配置
+     * 全部文件加载成功后才会替换配置实例, 任意文件加载失败时抛出该文件的异常并保留原有的配置实例
+     * 设置了 reloadExecutor 时并行解析, 失败规则不变, 其余失败文件的异常会作为被抑制的异常附加
+     * 所有重载方法都使用同一个锁, 不会同时进行
      */
     @SneakyThrows
-    public void reload() {
+    public synchronized void reload() {
+        YamlMetrics metrics = this.instance.getMetrics();
+        long start = System.nanoTime();
+        Map<File, YamlConfiguration> fileHashMap = new HashMap<>();
+        Map<File, FileMeta> fileMetaMap = new ConcurrentHashMap<>();
+        if (this.reloadExecutor != null) {
+            List<File> files = this.listFiles(this.getFolder());
+            Map<File, Throwable> failedFileMap = this.loadFiles(files, this.reloadExecutor, fileHashMap, fileMetaMap);
+            if (!failedFileMap.isEmpty()) {
+                metrics.onReload(this, System.nanoTime() - start, files.size(), failedFileMap.size());
+                Iterator<Throwable> iterator = failedFileMap.values().iterator();
+                Throwable throwable = iterator.next();
+                while (iterator.hasNext()) throwable.addSuppressed(iterator.next());
+                throw throwable;
+            }
+        } else for (File file : this.listFiles(this.getFolder())) {
+            LoadedFile loadedFile;
+            try {
+                loadedFile = this.loadFile(file);
+            } catch (Throwable e) {
+                metrics.onReload(this, System.nanoTime() - start, fileHashMap.size() + 1, 1);
+                throw e;
+            }
+            fileHashMap.put(file, loadedFile.configuration());
+            fileMetaMap.put(file, loadedFile.meta());
+        }
+        Map<File, YamlConfiguration> previous = this.fileHashMap;
+        this.fileHashMap = fileHashMap;
+        this.fileMetaMap = fileMetaMap;
+        this.updateIndexes(previous, fileHashMap);
+        metrics.onReload(this, System.nanoTime() - start, fileHashMap.size(), 0);
+    }
+
+    /**
+     * 使用指定线程池并行重载配置, 全部文件解析完成后一次性替换配置实例
+     * 单个文件加载失败不会中断整批重载, 该文件会保留上一次成功加载的配置实例
+     *
+     * @param executor 线程池
+     * @return 加载失败的文件及其异常
+     */
+    public synchronized @NotNull Map<File, Throwable> reload(@NotNull Executor executor) {
+        long start = System.nanoTime();
+        List<File> files = this.listFiles(this.getFolder());
         Map<File, YamlConfiguration> fileHashMap = new HashMap<>();
-        for (File file : this.instance.getFileManager().listFiles(this.getFolder())) {
-            fileHashMap.put(file, YamlConfiguration.loadConfiguration(file));
+        Map<File, FileMeta> fileMetaMap = new ConcurrentHashMap<>();
+        Map<File, Throwable> failedFileMap = this.loadFiles(files, executor, fileHashMap, fileMetaMap);
+
+        Map<File, YamlConfiguration> previous = this.fileHashMap;
+        this.fileHashMap = fileHashMap;
+        this.fileMetaMap = fileMetaMap;
+        this.updateIndexes(previous, fileHashMap);
+        this.reportFailures(failedFileMap);
+        this.instance.getMetrics().onReload(this, System.nanoTime() - start, files.size(), failedFileMap.size());
+        return this.failedFileMap;
+    }
+
+    /**
+     * 增量重载配置
+     * 修改时间和大小都未变化的文件会复用已有的配置实例, 只解析新增或被修改的文件, 并移除已删除的文件
+     * 如果设置了 reloadExecutor 则并行解析
+     *
+     * @return 重载结果
+     */
+    public synchronized @NotNull ReloadResult reloadIncremental() {
+        return this.reloadIncremental(false);
+    }
+
+    /**
+     * 增量重载配置
+     *
+     * @param keepDirty 是否保留有未保存修改的配置实例
+     * @return 重载结果
+     */
+    private synchronized @NotNull ReloadResult reloadIncremental(boolean keepDirty) {
+        List<File> files = this.listFiles(this.getFolder());
+        Set<File> removedFiles = new LinkedHashSet<>(this.fileHashMap.keySet());
+        removedFiles.removeAll(new HashSet<>(files));
+        return this.applyChanges(files, removedFiles, keepDirty);
+    }
+
+    /**
+     * 只重载指定的文件或目录
+     * 已不存在的文件会被移除, 目录会展开为其下的所有文件, 修改时间和大小都未变化的文件不会重新解析
+     *
+     * @param files 文件或目录列表
+     * @return 重载结果
+     */
+    public synchronized @NotNull ReloadResult reloadFiles(@NotNull Collection<File> files) {
+        return this.reloadFiles(files, false);
+    }
+
+    /**
+     * 只重载指定的文件或目录
+     *
+     * @param files     文件或目录列表
+     * @param keepDirty 是否保留有未保存修改的配置实例
+     * @return 重载结果
+     */
+    private synchronized @NotNull ReloadResult reloadFiles(@NotNull Collection<File> files, boolean keepDirty) {
+        List<File> changedFiles = new ArrayList<>();
+        Set<File> removedFiles = new LinkedHashSet<>();
+        for (File file : files) {
+            if (file.isFile()) {
+                if (AbstractFolderYamlManager.isConfigFile(file)) changedFiles.add(file);
+            }
+            else if (file.isDirectory()) changedFiles.addAll(this.listFiles(file));
+            else for (File loadedFile : this.fileHashMap.keySet()) {
+                if (loadedFile.toPath().startsWith(file.toPath())) removedFiles.add(loadedFile);
+            }
+        }
+        return this.applyChanges(changedFiles, removedFiles, keepDirty);
+    }
+
+    /**
+     * 应用文件变化, 复用未变化文件的配置实例, 只解析新增或被修改的文件
+     *
+     * @param files        需要检查的文件列表
+     * @param removedFiles 需要移除的文件
+     * @param keepDirty    是否保留有未保存修改的配置实例, 这些文件会记录为冲突而不是被重载或移除
+     * @return 重载结果
+     */
+    private @NotNull ReloadResult applyChanges(@NotNull Collection<File> files, @NotNull Set<File> removedFiles, boolean keepDirty) {
+        long start = System.nanoTime();
+        Set<File> conflictFiles = new LinkedHashSet<>();
+        if (keepDirty) removedFiles.removeIf(file -> this.isDirtyConflict(file, conflictFiles));
+
+        Map<File, YamlConfiguration> fileHashMap = new HashMap<>(this.fileHashMap);
+        Map<File, FileMeta> fileMetaMap = new ConcurrentHashMap<>(this.fileMetaMap);
+        fileHashMap.keySet().removeAll(removedFiles);
+        fileMetaMap.keySet().removeAll(removedFiles);
+
+        Set<File> addedFiles = new LinkedHashSet<>();
+        Set<File> modifiedFiles = new LinkedHashSet<>();
+        List<File> loadFiles = new ArrayList<>();
+        for (File file : files) {
+            if (!fileHashMap.containsKey(file)) {
+                addedFiles.add(file);
+                loadFiles.add(file);
+                continue;
+            }
+
+            FileMeta meta = fileMetaMap.get(file);
+            FileMeta unchangedMeta = meta != null ? this.checkUnchanged(file, meta) : null;
+            if (unchangedMeta != null) fileMetaMap.put(file, unchangedMeta);
+            else if (!keepDirty || !this.isDirtyConflict(file, conflictFiles)) {
+                modifiedFiles.add(file);
+                loadFiles.add(file);
+            }
         }
+
+        Map<File, Throwable> failedFileMap = this.loadFiles(loadFiles, this.reloadExecutor, fileHashMap, fileMetaMap);
+        Map<File, YamlConfiguration> previous = this.fileHashMap;
         this.fileHashMap = fileHashMap;
+        this.fileMetaMap = fileMetaMap;
+        this.updateIndexes(previous, fileHashMap);
+        this.reportFailures(failedFileMap);
+        this.instance.getMetrics().onReload(this, System.nanoTime() - start, loadFiles.size(), failedFileMap.size());
+
+        for (File file : conflictFiles) this.onReloadConflict(file);
+
+        return new ReloadResult(
+                Collections.unmodifiableSet(addedFiles),
+                Collections.unmodifiableSet(modifiedFiles),
+                Collections.unmodifiableSet(removedFiles),
+                Collections.unmodifiableSet(conflictFiles),
+                this.failedFileMap
+        );
+    }
+
+    /**
+     * 检查文件的配置实例是否有未保存的修改, 有则记录为冲突
+     *
+     * @param file          文件实例
+     * @param conflictFiles 冲突的文件
+     * @return 是否冲突
+     */
+    private boolean isDirtyConflict(@NotNull File file, @NotNull Set<File> conflictFiles) {
+        YamlConfiguration configuration = this.fileHashMap.get(file);
+        if (configuration == null || !configuration.isDirty()) return false;
+        conflictFiles.add(file);
+        return true;
+    }
+
+    /**
+     * 为指定路径建立跨文件索引
+     * 索引会在重载, 增量重载以及通过 set 修改配置后自动更新, 之后可以通过 {@link #findFiles(String, Object)} 按值查找文件
+     * 只索引标量值, 值为配置节点或列表的文件不会出现在索引中
+     *
+     * @param path 被索引的路径
+     */
+    public void addIndex(@NotNull String path) {
+        synchronized (this.indexMap) {
+            if (this.indexMap.containsKey(path)) return;
+
+            boolean watch = this.indexMap.isEmpty();
+            PathIndex index = new PathIndex(ConfigPath.of(path));
+            for (Map.Entry<File, YamlConfiguration> entry : this.fileHashMap.entrySet()) {
+                if (watch) this.watchIndex(entry.getKey(), entry.getValue());
+                index.update(entry.getKey(), entry.getValue());
+            }
+            this.indexMap.put(path, index);
+        }
+    }
+
+    /**
+     * 移除指定路径的跨文件索引
+     *
+     * @param path 被索引的路径
+     */
+    public void removeIndex(@NotNull String path) {
+        synchronized (this.indexMap) {
+            if (this.indexMap.remove(path) == null || !this.indexMap.isEmpty()) return;
+
+            for (Map.Entry<File, YamlConfiguration> entry : this.fileHashMap.entrySet())
+                this.unwatchIndex(entry.getKey(), entry.getValue());
+            this.indexListenerMap.clear();
+            this.staleIndexFiles.clear();
+        }
+    }
+
+    /**
+     * 获取所有建立了索引的路径
+     *
+     * @return 路径集合
+     */
+    public @NotNull Set<String> getIndexedPaths() {
+        return Collections.unmodifiableSet(this.indexMap.keySet());
+    }
+
+    /**
+     * 通过索引查找指定路径的值等于给定值的所有文件
+     * 值按字符串形式比较, 例如 5 与 "5" 视为相同
+     *
+     * @param path  被索引的路径
+     * @param value 值
+     * @return 文件集合
+     * @throws IllegalArgumentException 如果该路径没有建立索引
+     */
+    public @NotNull Set<File> findFiles(@NotNull String path, @NotNull Object value) {
+        synchronized (this.indexMap) {
+            PathIndex index = this.indexMap.get(path);
+            if (index == null) throw new IllegalArgumentException("路径没有建立索引: " + path);
+
+            this.refreshStaleIndexes();
+            return index.find(value instanceof StringSection str ? str.getValue() : value.toString());
+        }
+    }
+
+    /**
+     * 通过索引查找指定路径的值等于给定值的所有配置实例
+     *
+     * @param path  被索引的路径
+     * @param value 值
+     * @return 配置实例列表
+     * @throws IllegalArgumentException 如果该路径没有建立索引
+     */
+    public @NotNull List<YamlConfiguration> findData(@NotNull String path, @NotNull Object value) {
+        Set<File> files = this.findFiles(path, value);
+        Map<File, YamlConfiguration> fileHashMap = this.fileHashMap;
+
+        List<YamlConfiguration> result = new ArrayList<>(files.size());
+        for (File file : files) {
+            YamlConfiguration configuration = fileHashMap.get(file);
+            if (configuration != null) result.add(configuration);
+        }
+        return result;
+    }
+
+    /**
+     * 在配置实例被替换后更新索引
+     *
+     * @param previous 替换前的配置实例
+     * @param current  替换后的配置实例
+     */
+    private void updateIndexes(@NotNull Map<File, YamlConfiguration> previous, @NotNull Map<File, YamlConfiguration> current) {
+        synchronized (this.indexMap) {
+            if (this.indexMap.isEmpty()) return;
+
+            for (Map.Entry<File, YamlConfiguration> entry : previous.entrySet()) {
+                File file = entry.getKey();
+                if (current.containsKey(file)) continue;
+                this.unwatchIndex(file, entry.getValue());
+                this.indexListenerMap.remove(file);
+                this.staleIndexFiles.remove(file);
+                for (PathIndex index : this.indexMap.values()) index.remove(file);
+            }
+
+            for (Map.Entry<File, YamlConfiguration> entry : current.entrySet()) {
+                File file = entry.getKey();
+                YamlConfiguration previousConfiguration = previous.get(file);
+                if (previousConfiguration == entry.getValue()) continue;
+                if (previousConfiguration != null) this.unwatchIndex(file, previousConfiguration);
+                this.watchIndex(file, entry.getValue());
+                for (PathIndex index : this.indexMap.values()) index.update(file, entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * 监听配置修改, 修改后在下一次查询前刷新该文件的索引
+     *
+     * @param file          文件实例
+     * @param configuration 配置实例
+     */
+    private void watchIndex(@NotNull File file, @NotNull YamlConfiguration configuration) {
+        configuration.addModificationListener(this.indexListenerMap.computeIfAbsent(file, key -> () -> this.staleIndexFiles.add(key)));
+    }
+
+    /**
+     * 停止监听配置修改
+     *
+     * @param file          文件实例
+     * @param configuration 配置实例
+     */
+    private void unwatchIndex(@NotNull File file, @NotNull YamlConfiguration configuration) {
+        Runnable listener = this.indexListenerMap.get(file);
+        if (listener != null) configuration.removeModificationListener(listener);
+    }
+
+    /**
+     * 刷新被修改过的文件的索引, 调用时必须持有索引锁
+     */
+    private void refreshStaleIndexes() {
+        if (this.staleIndexFiles.isEmpty()) return;
+
+        Map<File, YamlConfiguration> fileHashMap = this.fileHashMap;
+        Iterator<File> iterator = this.staleIndexFiles.iterator();
+        while (iterator.hasNext()) {
+            File file = iterator.next();
+            iterator.remove();
+
+            YamlConfiguration configuration = fileHashMap.get(file);
+            for (PathIndex index : this.indexMap.values()) {
+                if (configuration != null) index.update(file, configuration);
+                else index.remove(file);
+            }
+        }
+    }
+
+    /**
+     * 开始监听文件夹变化, 文件被修改后在后台线程上只重载受影响的文件
+     * 有未保存修改的配置不会被重载或移除, 而是调用 {@link #onReloadConflict(File)}
+     *
+     * @param debounceMillis 防抖时间窗口, 单位为毫秒
+     */
+    @SneakyThrows
+    public synchronized void startWatching(long debounceMillis) {
+        if (this.watcher != null) return;
+
+        File folder = this.getFolder();
+        Files.createDirectories(folder.toPath());
+        Path root = folder.getAbsoluteFile().toPath();
+        this.watcher = new FileWatcher(root, true, debounceMillis, paths -> {
+            ReloadResult result;
+            try {
+                if (paths.contains(root)) result = this.reloadIncremental(true);
+                else {
+                    List<File> files = new ArrayList<>(paths.size());
+                    for (Path path : paths) files.add(new File(folder, root.relativize(path).toString()));
+                    result = this.reloadFiles(files, true);
+                }
+            } catch (Throwable e) {
+                this.onLoadFailed(folder, e);
+                return;
+            }
+            if (result.hasChanges() || !result.conflictFiles().isEmpty()) this.onHotReload(result);
+        });
+    }
+
+    /**
+     * 开始监听文件夹变化, 使用 500 毫秒的防抖时间窗口
+     */
+    public void startWatching() {
+        this.startWatching(500);
+    }
+
+    /**
+     * 停止监听文件夹变化
+     */
+    @SneakyThrows
+    public synchronized void stopWatching() {
+        if (this.watcher == null) return;
+        this.watcher.close();
+        this.watcher = null;
+    }
+
+    /**
+     * 是否正在监听文件夹变化
+     *
+     * @return 结果
+     */
+    public synchronized boolean isWatching() {
+        return this.watcher != null;
+    }
+
+    /**
+     * 文件监听触发的重载完成且有文件发生变化或冲突时调用
+     *
+     * @param result 重载结果
+     */
+    protected void onHotReload(@NotNull ReloadResult result) {
+    }
+
+    /**
+     * 获取目录下所有的配置文件, 不包括快照缓存文件和保存时的临时文件
+     *
+     * @param directory 目录实例
+     * @return 文件实例列表
+     */
+    private @NotNull List<File> listFiles(@NotNull File directory) {
+        List<File> files = this.instance.getFileManager().listFiles(directory);
+        files.removeIf(file -> !AbstractFolderYamlManager.isConfigFile(file));
+        return files;
+    }
+
+    /**
+     * 加载一批文件, 失败的文件会保留上一次成功加载的配置实例
+     * 被线程池拒绝的文件同样视为加载失败
+     *
+     * @param files       文件列表
+     * @param executor    线程池, 为 null 时在调用线程上顺序加载
+     * @param fileHashMap 加载结果
+     * @param fileMetaMap 文件元数据结果
+     * @return 加载失败的文件及其异常
+     */
+    private @NotNull Map<File, Throwable> loadFiles(@NotNull Collection<File> files, @Nullable Executor executor, @NotNull Map<File, YamlConfiguration> fileHashMap, @NotNull Map<File, FileMeta> fileMetaMap) {
+        Map<File, CompletableFuture<LoadedFile>> futureMap = new LinkedHashMap<>();
+        for (File file : files) {
+            if (executor == null) {
+                try {
+                    futureMap.put(file, CompletableFuture.completedFuture(this.loadFile(file)));
+                } catch (IOException | RuntimeException e) {
+                    futureMap.put(file, CompletableFuture.failedFuture(e));
+                }
+            } else {
+                CompletableFuture<LoadedFile> future;
+                try {
+                    future = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return this.loadFile(file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, executor);
+                } catch (RejectedExecutionException e) {
+                    // 线程池拒绝任务时只记录该文件失败, 不中断整批重载
+                    this.instance.getMetrics().onFailure(YamlMetrics.Operation.RELOAD, file, e);
+                    future = CompletableFuture.failedFuture(e);
+                }
+                futureMap.put(file, future);
+            }
+        }
+
+        Map<File, Throwable> failedFileMap = new LinkedHashMap<>();
+        for (Map.Entry<File, CompletableFuture<LoadedFile>> entry : futureMap.entrySet()) {
+            File file = entry.getKey();
+            try {
+                LoadedFile loadedFile = entry.getValue().join();
+                fileHashMap.put(file, loadedFile.configuration());
+                fileMetaMap.put(file, loadedFile.meta());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() instanceof UncheckedIOException ex ? ex.getCause() : e.getCause();
+                failedFileMap.put(file, cause);
+
+                YamlConfiguration previous = this.fileHashMap.get(file);
+                if (previous != null) fileHashMap.put(file, previous);
+                FileMeta previousMeta = this.fileMetaMap.get(file);
+                if (previousMeta != null) fileMetaMap.put(file, previousMeta);
+            }
+        }
+        return failedFileMap;
+    }
+
+    /**
+     * 记录并通知加载失败的文件
+     * 失败指标已经在加载文件或提交任务时上报, 这里不会重复上报
+     *
+     * @param failedFileMap 加载失败的文件及其异常
+     */
+    private void reportFailures(@NotNull Map<File, Throwable> failedFileMap) {
+        this.failedFileMap = Collections.unmodifiableMap(failedFileMap);
+        for (Map.Entry<File, Throwable> entry : failedFileMap.entrySet())
+            this.onLoadFailed(entry.getKey(), entry.getValue());
+    }
+
+    /**
+     * 加载单个文件并记录元数据
+     * 文件只读取一次, 内容校验值和快照缓存共用读取到的内容
+     *
+     * @param file 文件实例
+     * @return 加载结果
+     * @throws IOException 如果文件读取失败
+     */
+    private @NotNull LoadedFile loadFile(@NotNull File file) throws IOException {
+        long lastModified = file.lastModified();
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            this.instance.getMetrics().onFailure(YamlMetrics.Operation.LOAD, file, e);
+            throw e;
+        }
+        long hash = this.contentHashCheck ? YamlConfiguration.checksum(bytes) : -1;
+
+        YamlConfiguration configuration = this.instance.createConfiguration();
+        configuration.load(file, bytes, lastModified, hash);
+        return new LoadedFile(configuration, new FileMeta(lastModified, bytes.length, hash));
+    }
+
+    /**
+     * 读取文件当前的元数据
+     *
+     * @param file 文件实例
+     * @return 元数据
+     * @throws IOException 如果文件读取失败
+     */
+    private @NotNull FileMeta readMeta(@NotNull File file) throws IOException {
+        long hash = this.contentHashCheck ? YamlConfiguration.checksum(Files.readAllBytes(file.toPath())) : -1;
+        return new FileMeta(file.lastModified(), file.length(), hash);
+    }
+
+    /**
+     * 检查文件自上次加载后是否未发生变化
+     *
+     * @param file 文件实例
+     * @param meta 上次记录的元数据
+     * @return 未变化时返回最新的元数据, 否则返回 null
+     */
+    private @Nullable FileMeta checkUnchanged(@NotNull File file, @NotNull FileMeta meta) {
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if (lastModified == meta.lastModified() && length == meta.length()) return meta;
+        if (!this.contentHashCheck || meta.hash() == -1 || length != meta.length()) return null;
+
+        try {
+            if (YamlConfiguration.checksum(Files.readAllBytes(file.toPath())) == meta.hash())
+                return new FileMeta(lastModified, length, meta.hash());
+        } catch (IOException ignored) {
+        }
+        return null;
+    }
+
+    /**
+     * 文件在外部被修改或删除, 但内存中的配置有未保存的修改时, 由文件监听触发的重载调用
+     * 此时该文件不会被重载, 可以在这里选择保存以覆盖文件, 或者调用 {@link #reloadFiles(Collection)} 放弃内存中的修改
+     *
+     * @param file 文件实例
+     */
+    protected void onReloadConflict(@NotNull File file) {
+    }
+
+    /**
+     * 并行重载, 增量重载或文件监听触发的重载中单个文件加载失败时调用
+     *
+     * @param file      文件实例
+     * @param throwable 异常
+     */
+    protected void onLoadFailed(@NotNull File file, @NotNull Throwable throwable) {
     }
 
     /**
@@ -112,4 +754,110 @@ public abstract class AbstractFolderYamlManager {
     public @Nullable YamlConfiguration getData(@NotNull String path) {
         return this.getData(new File(this.getFolder(), path));
     }
+
+    /**
+     * 文件元数据
+     *
+     * @param lastModified 修改时间
+     * @param length       文件大小
+     * @param hash         内容校验值, 未计算时为 -1
+     */
+    public record FileMeta(long lastModified, long length, long hash) {
+    }
+
+    /**
+     * 增量重载结果
+     *
+     * @param addedFiles    新增的文件
+     * @param modifiedFiles 被修改并重新解析的文件
+     * @param removedFiles  已删除的文件
+     * @param conflictFiles 因有未保存的修改而没有重载的文件, 只有文件监听触发的重载会产生
+     * @param failedFileMap 加载失败的文件及其异常
+     */
+    public record ReloadResult(
+            @NotNull Set<File> addedFiles,
+            @NotNull Set<File> modifiedFiles,
+            @NotNull Set<File> removedFiles,
+            @NotNull Set<File> conflictFiles,
+            @NotNull Map<File, Throwable> failedFileMap
+    ) {
+        /**
+         * 是否有任何文件发生变化
+         *
+         * @return 结果
+         */
+        public boolean hasChanges() {
+            return !this.addedFiles.isEmpty() || !this.modifiedFiles.isEmpty() || !this.removedFiles.isEmpty();
+        }
+    }
+
+    private record LoadedFile(@NotNull YamlConfiguration configuration, @NotNull FileMeta meta) {
+    }
+
+    /**
+     * 单个路径的跨文件索引, 值统一以字符串形式存储
+     */
+    private static final class PathIndex {
+        private final @NotNull ConfigPath path;
+        private final @NotNull Map<String, Set<File>> valueFileMap = new HashMap<>();
+        private final @NotNull Map<File, String> fileValueMap = new HashMap<>();
+
+        private PathIndex(@NotNull ConfigPath path) {
+            this.path = path;
+        }
+
+        /**
+         * 读取配置中被索引的值
+         *
+         * @param configuration 配置实例
+         * @return 值的字符串形式, 如果不存在或不是标量则返回 null
+         */
+        private @Nullable String read(@NotNull YamlConfiguration configuration) {
+            Object data = configuration.getSectionData(this.path).getData();
+            if (data == null || data instanceof Map || data instanceof Collection || data instanceof ConfigurationSection)
+                return null;
+            return data instanceof StringSection str ? str.getValue() : data.toString();
+        }
+
+        /**
+         * 更新文件在索引中的值
+         *
+         * @param file          文件实例
+         * @param configuration 配置实例
+         */
+        private void update(@NotNull File file, @NotNull YamlConfiguration configuration) {
+            String value = this.read(configuration);
+            if (Objects.equals(value, this.fileValueMap.get(file))) return;
+
+            this.remove(file);
+            if (value == null) return;
+            this.fileValueMap.put(file, value);
+            this.valueFileMap.computeIfAbsent(value, key -> new LinkedHashSet<>()).add(file);
+        }
+
+        /**
+         * 从索引中移除文件
+         *
+         * @param file 文件实例
+         */
+        private void remove(@NotNull File file) {
+            String value = this.fileValueMap.remove(file);
+            if (value == null) return;
+
+            Set<File> files = this.valueFileMap.get(value);
+            files.remove(file);
+            if (files.isEmpty()) this.valueFileMap.remove(value);
+        }
+
+        /**
+         * 查找值对应的文件
+         *
+         * @param value 值的字符串形式
+         * @return 文件集合的副本
+         */
+        private @NotNull Set<File> find(@NotNull String value) {
+            Set<File> files = this.valueFileMap.get(value);
+            return files != null ? Collections.unmodifiableSet(new LinkedHashSet<>(files)) : Set.of();
+        }
+    }
 }
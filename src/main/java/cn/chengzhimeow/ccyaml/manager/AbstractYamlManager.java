@@ -2,13 +2,16 @@ package cn.chengzhimeow.ccyaml.manager;
 
 import cn.chengzhimeow.ccyaml.CCYaml;
 import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.metrics.YamlMetrics;
 import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -16,8 +19,14 @@ import java.util.Set;
 @SuppressWarnings("unused")
 public abstract class AbstractYamlManager {
     private final @NotNull CCYaml instance;
-    private @Nullable YamlConfiguration data;
+    private volatile @Nullable YamlConfiguration data;
     private @Nullable File file;
+    /**
+     * 上一次加载或保存后文件的修改时间和大小, 用于忽略未改变内容的文件事件
+     */
+    private volatile long lastModified = -1;
+    private volatile long length = -1;
+    private @Nullable FileWatcher watcher;
 
     public AbstractYamlManager(@NotNull CCYaml instance) {
         this.instance = instance;
@@ -54,9 +63,31 @@ public abstract class AbstractYamlManager {
     /**
      * 保存文件
      */
-    @SneakyThrows
     public void save() {
-        this.getData().save(this.getFile());
+        this.save(true);
+    }
+
+    /**
+     * 只在配置有未保存的修改或文件不存在时保存文件
+     * 修改列表中的配置节点等不经过本配置的操作不会被记录为修改, 这种情况需要使用 {@link #save()}
+     */
+    public void saveIfDirty() {
+        this.save(false);
+    }
+
+    /**
+     * 保存文件
+     *
+     * @param force 为 true 时即使配置没有修改也会写入
+     */
+    @SneakyThrows
+    private void save(boolean force) {
+        YamlConfiguration data = this.getData();
+        File file = this.getFile();
+        if (!force && !data.isDirty() && file.exists()) return;
+
+        data.save(file);
+        this.updateFileMeta();
     }
 
     /**
@@ -64,18 +95,38 @@ public abstract class AbstractYamlManager {
      */
     @SneakyThrows
     public void update() {
+        YamlMetrics metrics = this.instance.getMetrics();
+        long start = System.nanoTime();
+        int addedKeys;
+        try {
+            addedKeys = this.updateConfiguration();
+        } catch (Throwable e) {
+            metrics.onFailure(YamlMetrics.Operation.UPDATE, this.getFile(), e);
+            throw e;
+        }
+        metrics.onUpdate(this.getFile(), System.nanoTime() - start, addedKeys);
+    }
+
+    /**
+     * 将源文件中新增的键合并到配置中并保存
+     *
+     * @return 新增的键数量
+     * @throws IOException 如果文件读写失败
+     */
+    private int updateConfiguration() throws IOException {
         String version = this.instance.getVersion();
         String configVersion = this.getData().getString(this.instance.getConfigVersionKey());
 
         // 版本相同不处理
-        if (configVersion != null && configVersion.equals(version)) return;
+        if (configVersion != null && configVersion.equals(version)) return 0;
 
         URL url = this.instance.getClassLoader().getResource(this.originFilePath());
-        if (url == null) return;
+        if (url == null) return 0;
 
         try (InputStream in = url.openStream()) {
-            YamlConfiguration originConfig = YamlConfiguration.loadConfiguration(in);
-            Set<String> originConfigKeys = originConfig.getKeys(true);
+            YamlConfiguration originConfig = this.instance.createConfiguration();
+            originConfig.load(in);
+            Set<String> originConfigKeys = new HashSet<>(originConfig.getKeys(true));
             Set<String> configKeys = this.getData().getKeys(true);
 
             // 过滤完全存在的键
@@ -95,6 +146,7 @@ public abstract class AbstractYamlManager {
                 originConfigKeys = filteredKeys;
             }
 
+            int addedKeys = 0;
             forKey:
             for (String key : originConfigKeys) {
                 String[] keyParts = key.split("\\.");
@@ -107,30 +159,150 @@ public abstract class AbstractYamlManager {
                     if (i > 0) prefixBuilder.append('.');
                     prefixBuilder.append(part);
 
-                    List<String> prefixComments = originConfig.getCommentList(prefixBuilder.toString());
+                    List<String> prefixComments = originConfig.getSectionData(prefixBuilder.toString()).peekCommentList();
                     if (prefixComments.contains("!noUpdate")) continue forKey;
                 }
 
                 // 更新配置值
                 this.getData().set(key, originConfig.get(key));
+                addedKeys++;
 
                 // 更新注释
-                List<String> comments = originConfig.getCommentList(prefixBuilder.toString());
+                List<String> comments = originConfig.getSectionData(prefixBuilder.toString()).peekCommentList();
                 if (comments.isEmpty()) continue;
                 this.getData().setCommentList(key, comments);
             }
 
             this.getData().set(this.instance.getConfigVersionKey(), version);
             this.getData().save(this.getFile());
+            this.updateFileMeta();
+            return addedKeys;
         }
     }
 
     /**
      * 重载配置
+     * 与文件监听触发的重载使用同一个锁, 不会同时进行
+     */
+    @SneakyThrows
+    public synchronized void reload() {
+        YamlMetrics metrics = this.instance.getMetrics();
+        long start = System.nanoTime();
+        File file = this.getFile();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        YamlConfiguration data = this.instance.createConfiguration();
+        try {
+            data.load(file);
+        } catch (Throwable e) {
+            metrics.onReload(this, System.nanoTime() - start, 1, 1);
+            throw e;
+        }
+        this.data = data;
+        this.lastModified = lastModified;
+        this.length = length;
+        metrics.onReload(this, System.nanoTime() - start, 1, 0);
+    }
+
+    /**
+     * 记录文件当前的修改时间和大小
+     */
+    private void updateFileMeta() {
+        File file = this.getFile();
+        this.lastModified = file.lastModified();
+        this.length = file.length();
+    }
+
+    /**
+     * 开始监听文件变化, 文件被修改后在后台线程上自动重载
+     *
+     * @param debounceMillis 防抖时间窗口, 单位为毫秒
+     */
+    @SneakyThrows
+    public synchronized void startWatching(long debounceMillis) {
+        if (this.watcher != null) return;
+
+        File file = this.getFile().getAbsoluteFile();
+        Path path = file.toPath();
+        this.watcher = new FileWatcher(path.getParent(), false, debounceMillis, paths -> {
+            if (paths.contains(path) || paths.contains(path.getParent())) this.hotReload();
+        });
+    }
+
+    /**
+     * 开始监听文件变化, 使用 500 毫秒的防抖时间窗口
+     */
+    public void startWatching() {
+        this.startWatching(500);
+    }
+
+    /**
+     * 停止监听文件变化
      */
     @SneakyThrows
-    public void reload() {
-        this.data = YamlConfiguration.loadConfiguration(this.getFile());
+    public synchronized void stopWatching() {
+        if (this.watcher == null) return;
+        this.watcher.close();
+        this.watcher = null;
+    }
+
+    /**
+     * 是否正在监听文件变化
+     *
+     * @return 结果
+     */
+    public synchronized boolean isWatching() {
+        return this.watcher != null;
+    }
+
+    /**
+     * 由文件监听触发的重载
+     * 修改时间和大小都未变化时不会重新解析, 加载失败时保留原有的配置实例
+     * 内存中的配置有未保存的修改时不会重载, 而是调用 {@link #onReloadConflict(File)}
+     */
+    private synchronized void hotReload() {
+        File file = this.getFile();
+        if (!file.isFile()) return;
+        if (file.lastModified() == this.lastModified && file.length() == this.length) return;
+
+        YamlConfiguration data = this.data;
+        if (data != null && data.isDirty()) {
+            this.onReloadConflict(file);
+            return;
+        }
+
+        try {
+            this.reload();
+        } catch (Throwable e) {
+            this.onLoadFailed(file, e);
+            return;
+        }
+        this.onHotReload();
+    }
+
+    /**
+     * 文件监听触发的重载成功后调用
+     */
+    protected void onHotReload() {
+    }
+
+    /**
+     * 文件在外部被修改, 但内存中的配置有未保存的修改时调用
+     * 此时不会自动重载, 可以在这里选择保存以覆盖文件, 或者调用 {@link #reload()} 放弃内存中的修改
+     *
+     * @param file 文件实例
+     */
+    protected void onReloadConflict(@NotNull File file) {
+    }
+
+    /**
+     * 文件监听触发的重载失败时调用, 原有的配置实例会被保留
+     *
+     * @param file      文件实例
+     * @param throwable 异常
+     */
+    protected void onLoadFailed(@NotNull File file, @NotNull Throwable throwable) {
     }
 
     /**
@@ -0,0 +1,170 @@
+package cn.chengzhimeow.ccyaml.manager;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 基于 WatchService 的文件监听器
+ * 在防抖时间窗口内合并连续的文件事件, 窗口结束后在后台线程上一次性回调所有变化的路径
+ * 事件溢出时回调的路径集合中只包含监听的根目录
+ */
+@SuppressWarnings("unused")
+public final class FileWatcher implements AutoCloseable {
+    private final @NotNull Path root;
+    private final boolean recursive;
+    private final long debounceMillis;
+    private final @NotNull Consumer<Set<Path>> callback;
+    private final @NotNull WatchService watchService;
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final @NotNull Thread thread;
+    private final @NotNull Set<Path> pendingPaths = new LinkedHashSet<>();
+    private ScheduledFuture<?> pendingFuture;
+    private volatile boolean closed;
+
+    /**
+     * 创建并启动文件监听器
+     *
+     * @param root           监听的根目录
+     * @param recursive      是否同时监听所有子目录
+     * @param debounceMillis 防抖时间窗口, 单位为毫秒
+     * @param callback       变化回调, 在后台线程上执行
+     * @throws IOException 如果无法注册监听
+     */
+    public FileWatcher(@NotNull Path root, boolean recursive, long debounceMillis, @NotNull Consumer<Set<Path>> callback) throws IOException {
+        this.root = root;
+        this.recursive = recursive;
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.callback = callback;
+        this.watchService = root.getFileSystem().newWatchService();
+        this.register(root);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CC-Yaml-FileWatcher-Reload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.thread = new Thread(this::run, "CC-Yaml-FileWatcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * 注册目录监听, 递归模式下同时注册所有子目录
+     *
+     * @param directory 目录
+     * @throws IOException 如果无法注册监听
+     */
+    private void register(@NotNull Path directory) throws IOException {
+        if (!this.recursive) {
+            directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            return;
+        }
+
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public @NotNull FileVisitResult preVisitDirectory(@NotNull Path dir, @NotNull BasicFileAttributes attrs) throws IOException {
+                dir.register(FileWatcher.this.watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * 监听线程主循环
+     */
+    private void run() {
+        while (!this.closed) {
+            WatchKey key;
+            try {
+                key = this.watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    this.submit(this.root);
+                    continue;
+                }
+
+                Path path = directory.resolve((Path) event.context());
+                if (this.recursive && event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                    try {
+                        this.register(path);
+                    } catch (IOException e) {
+                        this.submit(this.root);
+                    }
+                }
+                this.submit(path);
+            }
+            key.reset();
+        }
+    }
+
+    /**
+     * 记录变化的路径并重新开始防抖计时
+     *
+     * @param path 路径
+     */
+    private synchronized void submit(@NotNull Path path) {
+        if (this.closed) return;
+        this.pendingPaths.add(path);
+        if (this.pendingFuture != null) this.pendingFuture.cancel(false);
+        this.pendingFuture = this.scheduler.schedule(this::flush, this.debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 防抖窗口结束, 回调所有变化的路径
+     */
+    private void flush() {
+        Set<Path> paths;
+        synchronized (this) {
+            if (this.pendingPaths.isEmpty()) return;
+            paths = this.pendingPaths.contains(this.root) ? Set.of(this.root) : Set.copyOf(this.pendingPaths);
+            this.pendingPaths.clear();
+            this.pendingFuture = null;
+        }
+        this.callback.accept(paths);
+    }
+
+    /**
+     * 获取监听的根目录
+     *
+     * @return 根目录
+     */
+    public @NotNull Path getRoot() {
+        return this.root;
+    }
+
+    /**
+     * 是否已关闭
+     *
+     * @return 结果
+     */
+    public boolean isClosed() {
+        return this.closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) return;
+            this.closed = true;
+            this.pendingPaths.clear();
+        }
+        this.scheduler.shutdownNow();
+        this.watchService.close();
+        this.thread.interrupt();
+    }
+}
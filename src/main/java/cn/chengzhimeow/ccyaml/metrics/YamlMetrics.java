@@ -0,0 +1,95 @@
+package cn.chengzhimeow.ccyaml.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+
+/**
+ * 配置加载, 保存与管理器操作的指标接口
+ * 所有方法默认不做任何事, 实现类只需覆盖关心的事件
+ * 回调在执行操作的线程上同步调用, 实现应当足够轻量并且线程安全
+ */
+@SuppressWarnings("unused")
+public interface YamlMetrics {
+    /**
+     * 不记录任何指标的默认实现
+     */
+    @NotNull YamlMetrics NOOP = new YamlMetrics() {
+    };
+
+    /**
+     * 配置加载完成
+     *
+     * @param file          来源文件, 从流或内存加载时为 null
+     * @param durationNanos 耗时, 单位为纳秒
+     * @param bytes         读取的字节数, 未知时为 -1
+     * @param nodes         加载得到的键数量 (包括所有子节点)
+     * @param fromSnapshot  是否从快照缓存读取
+     */
+    default void onLoad(@Nullable File file, long durationNanos, long bytes, int nodes, boolean fromSnapshot) {
+    }
+
+    /**
+     * 配置保存完成
+     *
+     * @param file          目标文件, 保存到流时为 null
+     * @param durationNanos 耗时, 单位为纳秒
+     * @param bytes         序列化后的字节数, 未知时为 -1
+     * @param written       是否实际写入, 内容与现有文件一致时为 false
+     */
+    default void onSave(@Nullable File file, long durationNanos, long bytes, boolean written) {
+    }
+
+    /**
+     * 管理器重载完成
+     *
+     * @param manager       管理器实例
+     * @param durationNanos 耗时, 单位为纳秒
+     * @param files         重新解析的文件数量
+     * @param failures      加载失败的文件数量
+     */
+    default void onReload(@NotNull Object manager, long durationNanos, int files, int failures) {
+    }
+
+    /**
+     * 管理器保存完成
+     *
+     * @param manager       管理器实例
+     * @param durationNanos 耗时, 单位为纳秒
+     * @param written       写入的文件数量
+     * @param skipped       因没有修改而跳过的文件数量
+     */
+    default void onSaveAll(@NotNull Object manager, long durationNanos, int written, int skipped) {
+    }
+
+    /**
+     * 配置更新完成
+     *
+     * @param file          配置文件
+     * @param durationNanos 耗时, 单位为纳秒
+     * @param addedKeys     新增的键数量, 版本相同未更新时为 0
+     */
+    default void onUpdate(@NotNull File file, long durationNanos, int addedKeys) {
+    }
+
+    /**
+     * 操作失败
+     *
+     * @param operation 操作类型
+     * @param file      相关文件, 未知时为 null
+     * @param throwable 异常
+     */
+    default void onFailure(@NotNull Operation operation, @Nullable File file, @NotNull Throwable throwable) {
+    }
+
+    /**
+     * 操作类型
+     */
+    enum Operation {
+        LOAD,
+        SAVE,
+        RELOAD,
+        UPDATE
+    }
+}
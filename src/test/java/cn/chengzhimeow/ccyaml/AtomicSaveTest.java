@@ -0,0 +1,35 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+public class AtomicSaveTest extends YamlTest {
+    @Test
+    public void saveTest() throws IOException {
+        File folder = new File(super.parent, "atomic");
+        File file = new File(folder, "atomic.yml");
+        Files.deleteIfExists(file.toPath());
+
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.set("a.b", "中文");
+        configuration.save(file);
+        Assertions.assertEquals("中文", YamlConfiguration.loadConfiguration(file).getString("a.b"), "保存的内容没有正确读取");
+
+        Assertions.assertTrue(file.setLastModified(0), "无法修改文件时间");
+        configuration.save(file);
+        Assertions.assertEquals(0, file.lastModified(), "内容相同时不应重写文件");
+
+        configuration.set("a.c", 1);
+        configuration.save(file);
+        Assertions.assertNotEquals(0, file.lastModified(), "内容变化后没有重写文件");
+
+        String[] names = folder.list();
+        Assertions.assertNotNull(names);
+        Assertions.assertArrayEquals(new String[]{"atomic.yml"}, names, "保存后残留了临时文件");
+    }
+}
@@ -0,0 +1,111 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ByteSize;
+import cn.chengzhimeow.ccyaml.configuration.ConverterRegistry;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BindTest extends YamlTest {
+    @Test
+    public void bindTest() throws IOException {
+        String yaml = """
+                name: test
+                level: 5
+                rate: 2
+                mode: HARD
+                tags:
+                  - a
+                  - b
+                owner:
+                  uuid: 123
+                  name: qwq
+                rewards:
+                  - item: apple
+                    amount: 3
+                  - item: bread
+                limits:
+                  daily: 10
+                  weekly: 50
+                """;
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(yaml.getBytes(StandardCharsets.UTF_8));
+
+        Settings settings = configuration.bind(Settings.class);
+        Assertions.assertEquals("test", settings.name);
+        Assertions.assertEquals(5, settings.level);
+        Assertions.assertEquals(2.0, settings.rate);
+        Assertions.assertEquals(Mode.HARD, settings.mode);
+        Assertions.assertEquals(List.of("a", "b"), settings.tags);
+        Assertions.assertEquals(new Owner("123", "qwq"), settings.owner);
+        Assertions.assertEquals(List.of(new Reward("apple", 3), new Reward("bread", 0)), settings.rewards);
+        Assertions.assertEquals(Map.of("daily", 10, "weekly", 50), settings.limits);
+        Assertions.assertEquals("default", settings.missing, "不存在的键应保留字段初始值");
+
+        MemoryConfiguration written = MemoryConfiguration.empty();
+        written.write(settings);
+        Assertions.assertEquals("HARD", written.getString("mode"));
+        Assertions.assertEquals("qwq", written.getString("owner.name"));
+        Assertions.assertEquals(settings, written.bind(Settings.class), "写入后重新绑定的结果不一致");
+    }
+
+    @Test
+    public void converterTypeTest() {
+        ConverterRegistry.getDefault().register(String.class, Color.class, value -> new Color(Integer.parseInt(value.substring(1), 16)));
+        try {
+            String yaml = """
+                    size: 512KB
+                    color: '#ff0000'
+                    """;
+            YamlConfiguration configuration = YamlConfiguration.loadConfiguration(yaml.getBytes(StandardCharsets.UTF_8));
+
+            Upload upload = configuration.bind(Upload.class);
+            Assertions.assertEquals(ByteSize.parse("512KB"), upload.size(), "ByteSize 被当作嵌套对象绑定");
+            Assertions.assertEquals(new Color(0xff0000), upload.color(), "注册了转换器的类型被当作嵌套对象绑定");
+        } finally {
+            ConverterRegistry.getDefault().unregister(String.class, Color.class);
+        }
+    }
+
+    public enum Mode {
+        EASY, HARD
+    }
+
+    public record Owner(String uuid, String name) {
+    }
+
+    public record Reward(String item, int amount) {
+    }
+
+    public record Color(int rgb) {
+    }
+
+    public record Upload(ByteSize size, Color color) {
+    }
+
+    public static class Settings {
+        private String name;
+        private int level;
+        private double rate;
+        private Mode mode;
+        private List<String> tags = new ArrayList<>();
+        private Owner owner;
+        private List<Reward> rewards;
+        private Map<String, Integer> limits;
+        private String missing = "default";
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Settings target)) return false;
+            return this.name.equals(target.name) && this.level == target.level && this.rate == target.rate && this.mode == target.mode
+                    && this.tags.equals(target.tags) && this.owner.equals(target.owner) && this.rewards.equals(target.rewards)
+                    && this.limits.equals(target.limits) && this.missing.equals(target.missing);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ConcurrentConfigurationTest {
+    @Test
+    public void concurrentReadWriteTest() throws Exception {
+        MemoryConfiguration configuration = MemoryConfiguration.concurrent();
+        configuration.set("stable.value", 1);
+        configuration.setCommentList("stable.value", List.of("comment"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(3);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            readers.add(executor.submit(() -> {
+                started.countDown();
+                while (running.get()) {
+                    Assertions.assertEquals(1, configuration.getInt("stable.value"), "读取到了不一致的数据");
+                    configuration.getKeys(true);
+                    for (String comment : configuration.getCommentList("stable.value"))
+                        Assertions.assertNotNull(comment, "读取到了不完整的注释");
+                }
+                return null;
+            }));
+        }
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS), "读取线程没有启动");
+
+        for (int i = 0; i < 2000; i++) {
+            configuration.set("dynamic." + (i % 50) + ".value", i);
+            if (i % 7 == 0) configuration.set("dynamic." + (i % 50), null);
+            configuration.setCommentList("stable.value", List.of("comment", "line " + i));
+        }
+        running.set(false);
+
+        for (Future<?> reader : readers) reader.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Assertions.assertTrue(configuration.isConcurrent());
+        Assertions.assertTrue(configuration.getConfigurationSection("stable") instanceof MemoryConfiguration section && section.isConcurrent(), "子节点没有继承线程安全模式");
+        Assertions.assertEquals(1999, configuration.getInt("dynamic.49.value"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> configuration.getCommentList("stable.value").add("x"), "线程安全模式下注释列表不应可以直接修改");
+    }
+
+    @Test
+    public void concurrentLoadTest() throws Exception {
+        YamlConfiguration configuration = new YamlConfiguration(true);
+        byte[] first = "value: 1\nkits:\n  - name: a\n".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "value: 1\nkits:\n  - name: b\n".getBytes(StandardCharsets.UTF_8);
+        configuration.load(first);
+
+        List<ConfigurationSection> kits = configuration.getConfigurationSectionList("kits");
+        Assertions.assertFalse(kits.isEmpty(), "没有加载列表中的配置节点");
+        Assertions.assertTrue(kits.get(0) instanceof MemoryConfiguration section && section.isConcurrent(), "列表中的配置节点没有转换为线程安全模式");
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> reader = executor.submit(() -> {
+            started.countDown();
+            while (running.get()) Assertions.assertEquals(1, configuration.getInt("value"), "加载期间读取到了不完整的数据");
+            return null;
+        });
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS), "读取线程没有启动");
+
+        for (int i = 0; i < 500; i++) configuration.load(i % 2 == 0 ? second : first);
+        running.set(false);
+        reader.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,77 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigKey;
+import cn.chengzhimeow.ccyaml.configuration.ConfigPath;
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class ConfigKeyTest {
+    @Test
+    public void configPathTest() {
+        Assertions.assertSame(ConfigPath.of("a.b.c"), ConfigPath.of("a.b.c"), "相同路径没有复用缓存实例");
+        Assertions.assertEquals(3, ConfigPath.of("a.b.c").length(), "没有正确解析路径层级");
+    }
+
+    @Test
+    public void configPathEvictionTest() {
+        ConfigPath hot = ConfigPath.of("hot.path");
+        ConfigPath cold = ConfigPath.of("cold.path");
+        for (int i = 0; i < ConfigPath.MAX_CACHE_SIZE * 4; i++) {
+            ConfigPath.of("kits." + i);
+            if (i % 100 == 0) Assertions.assertSame(hot, ConfigPath.of("hot.path"), "持续使用的路径被淘汰");
+        }
+
+        Assertions.assertNotSame(cold, ConfigPath.of("cold.path"), "长期未使用的路径没有被淘汰");
+        Assertions.assertSame(ConfigPath.of("late.path"), ConfigPath.of("late.path"), "缓存写满后新路径不再缓存");
+    }
+
+    @Test
+    public void configKeyTest() {
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        ConfigKey<Double> key = ConfigKey.of("a.b", Double.class, -1d);
+        Assertions.assertEquals(-1d, key.get(configuration), "不存在的键没有返回默认值");
+
+        configuration.set("a.b", 1);
+        Assertions.assertEquals(1d, key.get(configuration), "没有读取到写入后的值");
+
+        configuration.getSectionData("a.b").setData(2);
+        Assertions.assertEquals(2d, key.get(configuration), "没有读取到节点数据修改后的值");
+
+        configuration.set("a", null);
+        Assertions.assertEquals(-1d, key.get(configuration), "移除父节点后没有返回默认值");
+
+        configuration.set("a.b", 3d);
+        ConfigurationSection child = configuration.getConfigurationSection("a");
+        Assertions.assertNotNull(child);
+        ConfigKey<Double> childKey = ConfigKey.of("b", Double.class);
+        Assertions.assertEquals(3d, childKey.get(child), "没有从子节点读取到值");
+
+        configuration.set("a.b", null);
+        Assertions.assertNull(childKey.get(child), "父节点修改后子节点的缓存没有失效");
+    }
+
+    @Test
+    public void configKeyMultiSectionTest() {
+        MemoryConfiguration first = MemoryConfiguration.empty();
+        MemoryConfiguration second = MemoryConfiguration.empty();
+        first.set("a.b", 1);
+        second.set("a.b", 2);
+
+        ConfigKey<Integer> key = ConfigKey.of("a.b", Integer.class);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(1, key.get(first), "交替读取时返回了其他配置的值");
+            Assertions.assertEquals(2, key.get(second), "交替读取时返回了其他配置的值");
+        }
+
+        second.set("a.b", 3);
+        Assertions.assertEquals(3, key.get(second), "未绑定的配置修改后没有读取到新值");
+
+        first.getSectionData("a").setData(Map.of("b", 4));
+        first.markDirty();
+        Assertions.assertEquals(4, key.get(first), "替换父节点并标记修改后没有读取到新值");
+    }
+}
@@ -0,0 +1,67 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ByteSize;
+import cn.chengzhimeow.ccyaml.configuration.ConverterRegistry;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+public class ConverterTest extends YamlTest {
+    @Test
+    public void convertTest() {
+        String yaml = """
+                long: 10000000000
+                small_long: 42
+                number_string: '123'
+                bad_number: abc
+                duration: 1h30m
+                iso_duration: PT5S
+                uuid: 123e4567-e89b-12d3-a456-426614174000
+                size: 1.5KB
+                mode: hard
+                fraction: 1.5
+                whole: 2.0
+                big_string: '99999999999'
+                numbers: [1, 10000000000, 1.5]
+                quoted_yes: 'yes'
+                """;
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(yaml.getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(42, configuration.get("small_long", Integer.class));
+        Assertions.assertEquals(10000000000.0, configuration.getDouble("long"));
+        Assertions.assertNull(configuration.get("long", Integer.class), "超出范围的值不应被截断");
+        Assertions.assertEquals(5, configuration.getInt("long", 5), "超出范围时应返回默认值");
+        Assertions.assertEquals(10000000000L, configuration.getLong("long"));
+        Assertions.assertNull(configuration.get("fraction", Integer.class), "带有小数部分的值不应被截断");
+        Assertions.assertEquals(3, configuration.getInt("fraction", 3), "带有小数部分时应返回默认值");
+        Assertions.assertEquals(4L, configuration.getLong("fraction", 4L), "带有小数部分时应返回默认值");
+        Assertions.assertEquals((short) 6, configuration.getShort("long", (short) 6), "超出范围时应返回默认值");
+        Assertions.assertEquals(0, configuration.getInt("fraction"), "带有小数部分时应返回 0 而不是截断");
+        Assertions.assertEquals(2, configuration.getInt("whole"), "没有小数部分的浮点数应可以转换为整数");
+        Assertions.assertNull(configuration.get("big_string", Integer.class), "超出范围的字符串不应被截断");
+        Assertions.assertNull(configuration.get("long", Short.class), "超出范围的值不应被截断");
+        Assertions.assertArrayEquals(new int[]{1}, configuration.getIntArray("numbers"), "无法精确转换的数组元素没有被跳过");
+        Assertions.assertTrue(configuration.getBoolean("quoted_yes"), "加引号的 yes 应解析为 true");
+        Assertions.assertEquals(123, configuration.getInt("number_string"), "字符串没有转换为数字");
+        Assertions.assertEquals(7, configuration.getInt("bad_number", (Integer) 7), "无法解析时应返回默认值");
+        Assertions.assertEquals(Duration.ofMinutes(90), configuration.get("duration", Duration.class));
+        Assertions.assertEquals(Duration.ofSeconds(5), configuration.get("iso_duration", Duration.class));
+        Assertions.assertEquals(UUID.fromString("123e4567-e89b-12d3-a456-426614174000"), configuration.get("uuid", UUID.class));
+        Assertions.assertEquals(new ByteSize(1536), configuration.get("size", ByteSize.class));
+        Assertions.assertEquals(BindTest.Mode.HARD, configuration.get("mode", BindTest.Mode.class));
+
+        Duration duration = configuration.get("duration", Duration.class);
+        Assertions.assertSame(duration, configuration.get("duration", Duration.class), "转换结果没有缓存在节点上");
+        configuration.set("duration", "10s");
+        Assertions.assertEquals(Duration.ofSeconds(10), configuration.get("duration", Duration.class), "修改后缓存没有失效");
+
+        ConverterRegistry registry = ConverterRegistry.withDefaults();
+        registry.register(String.class, StringBuilder.class, StringBuilder::new);
+        Assertions.assertEquals("qwq", String.valueOf(registry.convert("qwq", StringBuilder.class)));
+        Assertions.assertThrows(ClassCastException.class, () -> ConverterRegistry.getDefault().convert("qwq", StringBuilder.class));
+    }
+}
@@ -0,0 +1,31 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+public class DeepKeyCacheTest extends YamlTest {
+    @Test
+    public void cacheTest() {
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        configuration.set("a.b.c", 1);
+        configuration.set("d", 2);
+
+        Set<String> keys = configuration.getKeys(true);
+        Assertions.assertEquals(Set.of("a", "a.b", "a.b.c", "d"), keys);
+        Assertions.assertSame(keys, configuration.getKeys(true), "未修改时应返回缓存的键集合");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> keys.add("e"));
+
+        configuration.set("a.e", 3);
+        Assertions.assertEquals(Set.of("a", "a.b", "a.b.c", "a.e", "d"), configuration.getKeys(true), "修改后缓存没有失效");
+
+        ConfigurationSection section = configuration.getConfigurationSection("a");
+        Assertions.assertNotNull(section);
+        Assertions.assertEquals(Set.of("b", "b.c", "e"), section.getKeys(true));
+        configuration.set("a.b", null);
+        Assertions.assertEquals(Set.of("e"), section.getKeys(true), "父节点修改后子节点缓存没有失效");
+    }
+}
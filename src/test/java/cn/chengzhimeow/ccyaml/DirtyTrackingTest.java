@@ -0,0 +1,98 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.manager.AbstractYamlManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+public class DirtyTrackingTest extends YamlTest {
+    @Test
+    public void dirtyTest() throws IOException {
+        File file = new File(super.parent, "dirty.yml");
+        YamlConfiguration configuration = new YamlConfiguration();
+        Assertions.assertFalse(configuration.isDirty(), "新建的配置不应为脏");
+
+        configuration.set("a.b", 1);
+        Assertions.assertTrue(configuration.isDirty(), "set 后配置没有变脏");
+        configuration.save(file);
+        Assertions.assertFalse(configuration.isDirty(), "保存后配置仍为脏");
+
+        ConfigurationSection section = configuration.getConfigurationSection("a");
+        Assertions.assertNotNull(section);
+        section.setCommentList("b", List.of("comment"));
+        Assertions.assertTrue(configuration.isDirty(), "子节点设定注释后配置没有变脏");
+
+        YamlConfiguration loaded = YamlConfiguration.loadConfiguration(file);
+        Assertions.assertFalse(loaded.isDirty(), "从文件加载的配置不应为脏");
+        loaded.set("a", null);
+        Assertions.assertTrue(loaded.isDirty(), "移除键后配置没有变脏");
+    }
+
+    @Test
+    public void loadOverloadTest() {
+        byte[] bytes = "a: 1\n".getBytes(StandardCharsets.UTF_8);
+        YamlConfiguration configuration = new YamlConfiguration();
+
+        configuration.set("b", 2);
+        configuration.load(new StringReader("a: 1\n"));
+        Assertions.assertFalse(configuration.isDirty(), "从 Reader 加载的配置不应为脏");
+
+        configuration.set("b", 2);
+        configuration.load(bytes);
+        Assertions.assertFalse(configuration.isDirty(), "从字节数组加载的配置不应为脏");
+
+        configuration.set("b", 2);
+        configuration.load(ByteBuffer.wrap(bytes));
+        Assertions.assertFalse(configuration.isDirty(), "从 ByteBuffer 加载的配置不应为脏");
+
+        configuration.set("b", 2);
+        configuration.load(new ByteArrayInputStream(bytes));
+        Assertions.assertFalse(configuration.isDirty(), "从输入流加载的配置不应为脏");
+        Assertions.assertEquals(1, configuration.getInt("a"), "没有加载配置内容");
+    }
+
+    @Test
+    public void managerSaveTest() throws IOException {
+        String path = "dirty/manager.yml";
+        File file = new File(super.parent, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), "kits:\n  - name: a\n");
+
+        AbstractYamlManager manager = new AbstractYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return path;
+            }
+
+            @Override
+            public String filePath() {
+                return path;
+            }
+        };
+        List<ConfigurationSection> kits = manager.getData().getConfigurationSectionList("kits");
+        Assertions.assertEquals(1, kits.size(), "没有加载列表中的配置节点");
+        kits.get(0).set("name", "b");
+        manager.save();
+
+        YamlConfiguration saved = YamlConfiguration.loadConfiguration(file);
+        Assertions.assertEquals("b", saved.getConfigurationSectionList("kits").get(0).getString("name"), "修改列表中的配置节点后 save 没有写入文件");
+
+        Files.writeString(file.toPath(), "value: 1\n");
+        manager.reload();
+        manager.saveIfDirty();
+        Assertions.assertEquals("value: 1\n", Files.readString(file.toPath()), "没有修改时 saveIfDirty 不应写入文件");
+        manager.getData().set("value", 2);
+        manager.saveIfDirty();
+        Assertions.assertEquals(2, YamlConfiguration.loadConfiguration(file).getInt("value"), "有修改时 saveIfDirty 没有写入文件");
+    }
+}
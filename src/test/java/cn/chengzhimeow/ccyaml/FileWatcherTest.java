@@ -0,0 +1,38 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.manager.FileWatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class FileWatcherTest extends YamlTest {
+    @Test
+    public void debounceTest() throws Exception {
+        File folder = new File(super.parent, "watcher/debounce");
+        Files.createDirectories(folder.toPath());
+        Path file = new File(folder, "a.yml").getAbsoluteFile().toPath();
+        Files.deleteIfExists(file);
+
+        CopyOnWriteArrayList<Set<Path>> calls = new CopyOnWriteArrayList<>();
+        CountDownLatch called = new CountDownLatch(1);
+        try (FileWatcher watcher = new FileWatcher(folder.getAbsoluteFile().toPath(), false, 300, paths -> {
+            calls.add(paths);
+            called.countDown();
+        })) {
+            for (int i = 0; i < 10; i++) Files.writeString(file, "value: " + i + "\n");
+
+            Assertions.assertTrue(called.await(10, TimeUnit.SECONDS), "文件修改后没有触发回调");
+            Thread.sleep(800);
+            Assertions.assertEquals(1, calls.size(), "防抖时间窗口内的多次修改没有合并为一次回调");
+            Assertions.assertTrue(calls.get(0).contains(file), "回调中没有包含被修改的文件");
+            Assertions.assertFalse(watcher.isClosed());
+        }
+    }
+}
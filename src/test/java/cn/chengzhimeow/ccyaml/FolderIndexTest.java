@@ -0,0 +1,62 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.manager.AbstractFolderYamlManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FolderIndexTest extends YamlTest {
+    @Test
+    public void indexTest() throws IOException {
+        File folder = new File(super.parent, "index");
+        Files.createDirectories(folder.toPath());
+        File[] oldFiles = folder.listFiles();
+        if (oldFiles != null) for (File file : oldFiles) Files.delete(file.toPath());
+
+        File a = new File(folder, "a.yml");
+        File b = new File(folder, "b.yml");
+        File c = new File(folder, "c.yml");
+        Files.writeString(a.toPath(), "type: x\n");
+        Files.writeString(b.toPath(), "type: y\n");
+        Files.writeString(c.toPath(), "type: x\nlevel: 5\n");
+
+        AbstractFolderYamlManager manager = new AbstractFolderYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return "index";
+            }
+
+            @Override
+            public String filePath() {
+                return "index";
+            }
+        };
+        manager.reload();
+        manager.addIndex("type");
+        manager.addIndex("level");
+
+        Assertions.assertEquals(Set.of(a, c), manager.findFiles("type", "x"));
+        Assertions.assertEquals(Set.of(c), manager.findFiles("level", 5), "数字值没有按字符串形式匹配");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> manager.findFiles("missing", "x"));
+
+        YamlConfiguration configuration = manager.getData(b);
+        Assertions.assertNotNull(configuration);
+        AtomicInteger modifications = new AtomicInteger();
+        configuration.addModificationListener(modifications::incrementAndGet);
+        configuration.set("type", "x");
+        Assertions.assertEquals(1, modifications.get(), "自定义的修改回调没有被调用");
+        Assertions.assertEquals(Set.of(a, b, c), manager.findFiles("type", "x"), "添加自定义修改回调后索引没有更新");
+        Assertions.assertTrue(manager.findFiles("type", "y").isEmpty());
+
+        Files.delete(a.toPath());
+        Files.writeString(new File(folder, "d.yml").toPath(), "type: x\n");
+        manager.reloadIncremental();
+        Assertions.assertEquals(Set.of(b, c, new File(folder, "d.yml")), manager.findFiles("type", "x"), "增量重载后索引没有更新");
+    }
+}
@@ -0,0 +1,50 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.FrozenConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+
+public class FrozenConfigurationTest extends YamlTest {
+    @Test
+    public void freezeTest() {
+        YamlConfiguration yamlConfiguration;
+        try (InputStream in = super.loader.getResourceAsStream("test.yml")) {
+            Assertions.assertNotNull(in, "找不到测试文件");
+            yamlConfiguration = YamlConfiguration.loadConfiguration(in);
+        } catch (IOException e) {
+            Assertions.fail("无法正常读取测试文件", e);
+            return;
+        }
+
+        FrozenConfiguration frozen = yamlConfiguration.freeze();
+        Assertions.assertEquals(yamlConfiguration.getKeys(true), frozen.getKeys(true), "快照的键与原配置不一致");
+        Assertions.assertEquals("test", frozen.getString("test.string"));
+        Assertions.assertEquals("123\n321\n", frozen.getString("test.string_literal"));
+        Assertions.assertEquals(1314, frozen.getInt("test.int"));
+        Assertions.assertEquals(1000L, frozen.getLong("test.long"));
+        Assertions.assertEquals(List.of("qwq", "awa"), frozen.getStringList("test.string_list"));
+        Assertions.assertNull(frozen.get("test.missing"));
+        Assertions.assertTrue(frozen.getCommentList("comment").isEmpty(), "快照不应保留注释");
+
+        ConfigurationSection section = frozen.getConfigurationSection("test_anchor_add");
+        Assertions.assertInstanceOf(FrozenConfiguration.class, section);
+        Assertions.assertEquals("qwq", section.getString("qwq"));
+        Assertions.assertEquals("test", section.getConfigurationSectionList("config_list").get(0).getString("string"));
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.set("test.int", 1));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.getStringList("test.string_list").add("qaq"));
+
+        FrozenConfiguration durations = YamlConfiguration.loadConfiguration(new StringReader("timeout: 5s\n")).freeze();
+        Duration timeout = durations.get("timeout", Duration.class);
+        Assertions.assertEquals(Duration.ofSeconds(5), timeout);
+        Assertions.assertNotSame(timeout, durations.get("timeout", Duration.class), "只读配置的节点不应写入转换缓存");
+    }
+}
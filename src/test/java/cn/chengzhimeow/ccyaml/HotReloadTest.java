@@ -0,0 +1,139 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.manager.AbstractFolderYamlManager;
+import cn.chengzhimeow.ccyaml.manager.AbstractYamlManager;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class HotReloadTest extends YamlTest {
+    private static void touch(File file) {
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 10_000), "无法修改文件的修改时间");
+    }
+
+    @Test
+    public void singleFileTest() throws Exception {
+        String path = "hot/single/config.yml";
+        File file = new File(super.parent, path);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), "value: 1\n");
+
+        BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        AbstractYamlManager manager = new AbstractYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return path;
+            }
+
+            @Override
+            public String filePath() {
+                return path;
+            }
+
+            @Override
+            protected void onHotReload() {
+                events.add("reload");
+            }
+
+            @Override
+            protected void onReloadConflict(@NotNull File file) {
+                events.add("conflict");
+            }
+        };
+        Assertions.assertEquals(1, manager.getData().getInt("value"));
+
+        manager.startWatching(100);
+        try {
+            Files.writeString(file.toPath(), "value: 2\n");
+            HotReloadTest.touch(file);
+            Assertions.assertEquals("reload", events.poll(10, TimeUnit.SECONDS), "文件修改后没有自动重载");
+            Assertions.assertEquals(2, manager.getData().getInt("value"), "自动重载后的数据不正确");
+
+            manager.getData().set("value", 3);
+            Files.writeString(file.toPath(), "value: 4\n");
+            HotReloadTest.touch(file);
+            Assertions.assertEquals("conflict", events.poll(10, TimeUnit.SECONDS), "有未保存的修改时没有报告冲突");
+            Assertions.assertEquals(3, manager.getData().getInt("value"), "自动重载覆盖了未保存的修改");
+        } finally {
+            manager.stopWatching();
+        }
+    }
+
+    @Test
+    public void folderTest() throws Exception {
+        String path = "hot/folder";
+        File folder = new File(super.parent, path);
+        Files.createDirectories(folder.toPath());
+        File[] oldFiles = folder.listFiles();
+        if (oldFiles != null) for (File file : oldFiles) Files.delete(file.toPath());
+        File a = new File(folder, "a.yml");
+        File b = new File(folder, "b.yml");
+        Files.writeString(a.toPath(), "value: 1\n");
+        Files.writeString(b.toPath(), "value: 1\n");
+
+        BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+        AbstractFolderYamlManager manager = new AbstractFolderYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return path;
+            }
+
+            @Override
+            public String filePath() {
+                return path;
+            }
+
+            @Override
+            protected void onHotReload(@NotNull ReloadResult result) {
+                events.add(result);
+            }
+        };
+        manager.reload();
+
+        manager.startWatching(100);
+        try {
+            Files.writeString(a.toPath(), "value: 2\n");
+            HotReloadTest.touch(a);
+            AbstractFolderYamlManager.ReloadResult result = HotReloadTest.poll(events);
+            Assertions.assertEquals(Set.of(a), result.modifiedFiles(), "文件修改后没有自动重载");
+            Assertions.assertEquals(2, HotReloadTest.getData(manager, a).getInt("value"), "自动重载后的数据不正确");
+
+            YamlConfiguration dirty = HotReloadTest.getData(manager, b);
+            dirty.set("value", 3);
+            Files.writeString(b.toPath(), "value: 4\n");
+            HotReloadTest.touch(b);
+            result = HotReloadTest.poll(events);
+            Assertions.assertEquals(Set.of(b), result.conflictFiles(), "有未保存的修改时没有报告冲突");
+            Assertions.assertTrue(result.modifiedFiles().isEmpty(), "有未保存的修改时仍然重载了文件");
+            Assertions.assertSame(dirty, manager.getData(b), "自动重载替换了有未保存修改的配置实例");
+            Assertions.assertEquals(3, dirty.getInt("value"), "自动重载覆盖了未保存的修改");
+
+            Files.delete(b.toPath());
+            result = HotReloadTest.poll(events);
+            Assertions.assertEquals(Set.of(b), result.conflictFiles(), "删除有未保存修改的文件时没有报告冲突");
+            Assertions.assertSame(dirty, manager.getData(b), "自动重载移除了有未保存修改的配置实例");
+        } finally {
+            manager.stopWatching();
+        }
+    }
+
+    private static AbstractFolderYamlManager.ReloadResult poll(BlockingQueue<Object> events) throws InterruptedException {
+        Object result = events.poll(10, TimeUnit.SECONDS);
+        Assertions.assertInstanceOf(AbstractFolderYamlManager.ReloadResult.class, result, "文件变化后没有触发自动重载");
+        return (AbstractFolderYamlManager.ReloadResult) result;
+    }
+
+    private static YamlConfiguration getData(AbstractFolderYamlManager manager, File file) {
+        YamlConfiguration configuration = manager.getData(file);
+        Assertions.assertNotNull(configuration, "没有加载 " + file.getName());
+        return configuration;
+    }
+}
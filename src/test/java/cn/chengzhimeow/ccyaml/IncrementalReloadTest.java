@@ -0,0 +1,130 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.manager.AbstractFolderYamlManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Set;
+
+public class IncrementalReloadTest extends YamlTest {
+    private AbstractFolderYamlManager createManager(String path) throws IOException {
+        File folder = new File(super.parent, path);
+        Files.createDirectories(folder.toPath());
+        File[] oldFiles = folder.listFiles();
+        if (oldFiles != null) for (File file : oldFiles) Files.delete(file.toPath());
+
+        return new AbstractFolderYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return path;
+            }
+
+            @Override
+            public String filePath() {
+                return path;
+            }
+        };
+    }
+
+    private static void touch(File file) {
+        Assertions.assertTrue(file.setLastModified(file.lastModified() + 10_000), "无法修改文件的修改时间");
+    }
+
+    @Test
+    public void changeTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("incremental/change");
+        File folder = manager.getFolder();
+        File a = new File(folder, "a.yml");
+        File b = new File(folder, "b.yml");
+        File c = new File(folder, "c.yml");
+        Files.writeString(a.toPath(), "value: 1\n");
+        Files.writeString(b.toPath(), "value: 2\n");
+        Files.writeString(c.toPath(), "value: 3\n");
+        manager.reload();
+        YamlConfiguration unchanged = manager.getData(a);
+
+        Files.writeString(b.toPath(), "value: 20\n");
+        IncrementalReloadTest.touch(b);
+        Files.delete(c.toPath());
+        File d = new File(folder, "d.yml");
+        Files.writeString(d.toPath(), "value: 4\n");
+
+        AbstractFolderYamlManager.ReloadResult result = manager.reloadIncremental();
+        Assertions.assertEquals(Set.of(d), result.addedFiles(), "没有识别新增的文件");
+        Assertions.assertEquals(Set.of(b), result.modifiedFiles(), "没有识别被修改的文件");
+        Assertions.assertEquals(Set.of(c), result.removedFiles(), "没有识别已删除的文件");
+        Assertions.assertTrue(result.failedFileMap().isEmpty());
+
+        Assertions.assertSame(unchanged, manager.getData(a), "未修改的文件没有复用配置实例");
+        YamlConfiguration modified = manager.getData(b);
+        Assertions.assertNotNull(modified);
+        Assertions.assertEquals(20, modified.getInt("value"), "被修改的文件没有重新解析");
+        Assertions.assertNull(manager.getData(c), "已删除的文件没有被移除");
+        Assertions.assertNotNull(manager.getData(d), "新增的文件没有被加载");
+
+        Assertions.assertFalse(manager.reloadIncremental().hasChanges(), "没有变化时不应报告变化");
+    }
+
+    @Test
+    public void failedFileTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("incremental/failed");
+        File a = new File(manager.getFolder(), "a.yml");
+        Files.writeString(a.toPath(), "value: 1\n");
+        manager.reload();
+        YamlConfiguration previous = manager.getData(a);
+
+        Files.writeString(a.toPath(), "value: [\n");
+        IncrementalReloadTest.touch(a);
+        AbstractFolderYamlManager.ReloadResult result = manager.reloadIncremental();
+        Assertions.assertTrue(result.failedFileMap().containsKey(a), "没有记录加载失败的文件");
+        Assertions.assertSame(previous, manager.getData(a), "加载失败的文件没有保留上一次的配置实例");
+
+        Files.writeString(a.toPath(), "value: 2\n");
+        IncrementalReloadTest.touch(a);
+        result = manager.reloadIncremental();
+        Assertions.assertEquals(Set.of(a), result.modifiedFiles(), "修复后的文件没有重新解析");
+        Assertions.assertTrue(manager.getFailedFileMap().isEmpty(), "修复后没有清除加载失败记录");
+    }
+
+    @Test
+    public void contentHashCheckTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("incremental/hash");
+        manager.setContentHashCheck(true);
+        File a = new File(manager.getFolder(), "a.yml");
+        Files.writeString(a.toPath(), "value: 1\n");
+        manager.reload();
+        YamlConfiguration previous = manager.getData(a);
+
+        Files.writeString(a.toPath(), "value: 1\n");
+        IncrementalReloadTest.touch(a);
+        Assertions.assertFalse(manager.reloadIncremental().hasChanges(), "内容未变化时不应重新解析");
+        Assertions.assertSame(previous, manager.getData(a), "内容未变化时没有复用配置实例");
+
+        Files.writeString(a.toPath(), "value: 2\n");
+        IncrementalReloadTest.touch(a);
+        Assertions.assertEquals(Set.of(a), manager.reloadIncremental().modifiedFiles(), "内容变化后没有重新解析");
+
+        manager.setContentHashCheck(false);
+        IncrementalReloadTest.touch(a);
+        Assertions.assertEquals(Set.of(a), manager.reloadIncremental().modifiedFiles(), "关闭内容校验后修改时间变化应视为修改");
+    }
+
+    @Test
+    public void tempFileTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("incremental/temp");
+        File a = new File(manager.getFolder(), "a.yml");
+        File temp = new File(manager.getFolder(), ".a.yml.18c2f3a4b5.tmp");
+        Files.writeString(a.toPath(), "value: 1\n");
+        Files.writeString(temp.toPath(), "value: 2\n");
+
+        manager.reload();
+        Assertions.assertEquals(1, manager.getFileList().size(), "残留的临时文件被当作配置文件加载");
+        Assertions.assertNull(manager.getData(temp), "残留的临时文件被当作配置文件加载");
+        Assertions.assertTrue(manager.reloadFiles(List.of(temp)).addedFiles().isEmpty(), "重载指定文件时加载了残留的临时文件");
+    }
+}
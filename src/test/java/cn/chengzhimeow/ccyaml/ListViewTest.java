@@ -0,0 +1,46 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+public class ListViewTest extends YamlTest {
+    @Test
+    public void listViewTest() {
+        String yaml = """
+                messages:
+                  - hello
+                  - world
+                mixed:
+                  - 1
+                  - two
+                ints: [1, 2, 3]
+                invalid: [1, two, 3, {a: 1}, 10000000000]
+                durations: [1s, 2m]
+                """;
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(yaml.getBytes(StandardCharsets.UTF_8));
+
+        List<String> messages = configuration.getStringList("messages");
+        Assertions.assertEquals(List.of("hello", "world"), messages);
+        Assertions.assertSame(messages, configuration.getStringList("messages"), "列表视图没有缓存在节点上");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> messages.add("qwq"));
+
+        Assertions.assertEquals(List.of("1", "two"), configuration.getStringList("mixed"), "没有检查所有元素的类型");
+        Assertions.assertEquals(List.of(1L, 2L, 3L), configuration.getList("ints", Long.class));
+        Assertions.assertEquals(List.of(1, 2, 3), configuration.getIntList("ints"));
+        Assertions.assertEquals(List.of(1, 3), configuration.getIntList("invalid"), "无法转换的元素没有被跳过");
+
+        List<Duration> durations = configuration.getList("durations", Duration.class);
+        Assertions.assertEquals(List.of(Duration.ofSeconds(1), Duration.ofMinutes(2)), durations);
+        Assertions.assertSame(durations.get(0), durations.get(0), "每次读取元素时都重新转换");
+        Assertions.assertSame(durations, configuration.getList("durations", Duration.class), "转换后的列表没有缓存在节点上");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> durations.add(Duration.ZERO));
+
+        configuration.set("messages", List.of("qwq"));
+        Assertions.assertEquals(List.of("qwq"), configuration.getStringList("messages"), "修改后列表视图没有失效");
+    }
+}
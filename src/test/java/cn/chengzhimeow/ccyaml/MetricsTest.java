@@ -0,0 +1,125 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.manager.AbstractFolderYamlManager;
+import cn.chengzhimeow.ccyaml.manager.AbstractYamlManager;
+import cn.chengzhimeow.ccyaml.metrics.YamlMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class MetricsTest extends YamlTest {
+    @Test
+    public void loadSaveTest() throws IOException {
+        File file = new File(super.parent, "metrics/metrics.yml");
+        Files.deleteIfExists(file.toPath());
+
+        List<Integer> nodeList = new ArrayList<>();
+        List<Boolean> writtenList = new ArrayList<>();
+        List<YamlMetrics.Operation> failureList = new ArrayList<>();
+        YamlMetrics metrics = new YamlMetrics() {
+            @Override
+            public void onLoad(File file, long durationNanos, long bytes, int nodes, boolean fromSnapshot) {
+                nodeList.add(nodes);
+            }
+
+            @Override
+            public void onSave(File file, long durationNanos, long bytes, boolean written) {
+                writtenList.add(written);
+            }
+
+            @Override
+            public void onFailure(YamlMetrics.Operation operation, File file, Throwable throwable) {
+                failureList.add(operation);
+            }
+        };
+
+        YamlConfiguration configuration = new YamlConfiguration();
+        configuration.setMetrics(metrics);
+        configuration.set("a.b", 1);
+        configuration.save(file);
+        configuration.save(file);
+        Assertions.assertEquals(List.of(true, false), writtenList, "保存事件不正确");
+
+        configuration.load(file);
+        Assertions.assertEquals(List.of(2), nodeList, "加载事件不正确");
+
+        Assertions.assertThrows(Exception.class, () -> configuration.load("a: [".getBytes()));
+        Assertions.assertEquals(List.of(YamlMetrics.Operation.LOAD), failureList, "失败事件不正确");
+    }
+
+    @Test
+    public void managerTest() throws IOException {
+        List<String> eventList = new ArrayList<>();
+        super.yamlManager.setMetrics(new YamlMetrics() {
+            @Override
+            public void onReload(@NotNull Object manager, long durationNanos, int files, int failures) {
+                eventList.add("reload " + files + " " + failures);
+            }
+
+            @Override
+            public void onSaveAll(@NotNull Object manager, long durationNanos, int written, int skipped) {
+                eventList.add("saveAll " + written + " " + skipped);
+            }
+
+            @Override
+            public void onUpdate(@NotNull File file, long durationNanos, int addedKeys) {
+                eventList.add("update " + (addedKeys > 0));
+            }
+
+            @Override
+            public void onFailure(@NotNull YamlMetrics.Operation operation, File file, @NotNull Throwable throwable) {
+                eventList.add("failure " + operation + " " + file.getName());
+            }
+        });
+
+        String folderPath = "metrics/folder";
+        File folder = new File(super.parent, folderPath);
+        Files.createDirectories(folder.toPath());
+        File[] oldFiles = folder.listFiles();
+        if (oldFiles != null) for (File file : oldFiles) Files.delete(file.toPath());
+        Files.writeString(new File(folder, "a.yml").toPath(), "value: 1\n");
+        Files.writeString(new File(folder, "broken.yml").toPath(), "value: [\n");
+        AbstractFolderYamlManager folderManager = new AbstractFolderYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return folderPath;
+            }
+
+            @Override
+            public String filePath() {
+                return folderPath;
+            }
+        };
+
+        Map<File, Throwable> failedFileMap = folderManager.reload(Runnable::run);
+        Assertions.assertEquals(1, failedFileMap.size());
+        folderManager.save();
+        Assertions.assertEquals(List.of("failure LOAD broken.yml", "reload 2 1", "saveAll 1 0"), eventList, "文件夹管理器的指标事件不正确");
+
+        eventList.clear();
+        String path = "metrics/update.yml";
+        Files.writeString(new File(super.parent, path).toPath(), "a: 1\n");
+        AbstractYamlManager manager = new AbstractYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return "test.yml";
+            }
+
+            @Override
+            public String filePath() {
+                return path;
+            }
+        };
+        manager.update();
+        manager.save();
+        Assertions.assertEquals(List.of("reload 1 0", "update true"), eventList, "单文件管理器的指标事件不正确");
+    }
+}
@@ -0,0 +1,100 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.manager.AbstractFolderYamlManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+public class ParallelReloadTest extends YamlTest {
+    private AbstractFolderYamlManager createManager(String path) throws IOException {
+        File folder = new File(super.parent, path);
+        Files.createDirectories(folder.toPath());
+        File[] oldFiles = folder.listFiles();
+        if (oldFiles != null) for (File file : oldFiles) Files.delete(file.toPath());
+
+        return new AbstractFolderYamlManager(super.yamlManager) {
+            @Override
+            public String originFilePath() {
+                return path;
+            }
+
+            @Override
+            public String filePath() {
+                return path;
+            }
+        };
+    }
+
+    @Test
+    public void failedFileTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("parallel/failed");
+        File folder = manager.getFolder();
+        for (int i = 0; i < 20; i++) Files.writeString(new File(folder, i + ".yml").toPath(), "value: " + i + "\n");
+        File broken = new File(folder, "broken.yml");
+        Files.writeString(broken.toPath(), "value: [\n");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Map<File, Throwable> failedFileMap = manager.reload(executor);
+            Assertions.assertEquals(1, failedFileMap.size(), "没有只记录加载失败的文件");
+            Assertions.assertTrue(failedFileMap.containsKey(broken), "没有记录加载失败的文件");
+            Assertions.assertEquals(20, manager.getFileList().size(), "单个文件失败中断了整批重载");
+
+            YamlConfiguration configuration = manager.getData("7.yml");
+            Assertions.assertNotNull(configuration);
+            Assertions.assertEquals(7, configuration.getInt("value"), "并行重载的结果不正确");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void rejectedTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("parallel/rejected");
+        File folder = manager.getFolder();
+        for (int i = 0; i < 5; i++) Files.writeString(new File(folder, i + ".yml").toPath(), "value: " + i + "\n");
+        manager.reload();
+        YamlConfiguration previous = manager.getData("3.yml");
+
+        Map<File, Throwable> failedFileMap = manager.reload(command -> {
+            throw new RejectedExecutionException("rejected");
+        });
+        Assertions.assertEquals(5, failedFileMap.size(), "线程池拒绝任务时没有记录为加载失败");
+        for (Throwable throwable : failedFileMap.values())
+            Assertions.assertInstanceOf(RejectedExecutionException.class, throwable, "没有保留线程池拒绝的异常");
+        Assertions.assertSame(previous, manager.getData("3.yml"), "被拒绝的文件没有保留上一次加载的配置实例");
+    }
+
+    @Test
+    public void reloadFailureTest() throws IOException {
+        AbstractFolderYamlManager manager = this.createManager("parallel/contract");
+        File folder = manager.getFolder();
+        for (int i = 0; i < 5; i++) Files.writeString(new File(folder, i + ".yml").toPath(), "value: " + i + "\n");
+        manager.reload();
+        YamlConfiguration previous = manager.getData("3.yml");
+        Files.writeString(new File(folder, "broken.yml").toPath(), "value: [\n");
+        Files.writeString(new File(folder, "broken2.yml").toPath(), "value: {\n");
+
+        Assertions.assertThrows(Exception.class, manager::reload, "顺序重载遇到失败文件没有抛出异常");
+        Assertions.assertSame(previous, manager.getData("3.yml"), "顺序重载失败后替换了配置实例");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            manager.setReloadExecutor(executor);
+            Exception exception = Assertions.assertThrows(Exception.class, manager::reload, "并行重载遇到失败文件没有抛出异常");
+            Assertions.assertEquals(1, exception.getSuppressed().length, "没有附加其余失败文件的异常");
+            Assertions.assertSame(previous, manager.getData("3.yml"), "并行重载失败后替换了配置实例");
+            Assertions.assertEquals(5, manager.getFileList().size(), "并行重载失败后替换了配置实例");
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlSnapshotCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+public class PrimitiveListTest extends YamlTest {
+    private static final String YAML = """
+            ints: [1, 2, 3]
+            longs: [10000000000, 20000000000]
+            doubles: [0.5, 1.5]
+            """;
+
+    @Test
+    public void loadTest() {
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(PrimitiveListTest.YAML.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(List.of(1, 2, 3), configuration.getIntList("ints"), "没有正确读取整数列表");
+        Assertions.assertArrayEquals(new int[]{1, 2, 3}, configuration.getIntArray("ints"), "没有正确读取整数数组");
+        Assertions.assertArrayEquals(new long[]{10000000000L, 20000000000L}, configuration.getLongArray("longs"), "没有正确读取长整数数组");
+        Assertions.assertArrayEquals(new double[]{0.5, 1.5}, configuration.getDoubleArray("doubles"), "没有正确读取双精度浮点数数组");
+    }
+
+    @Test
+    public void invalidElementTest() {
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration("""
+                values: [1, x, '2', 1.5, 10000000000, {a: 1}, 0]
+                """.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertEquals(List.of(1, 2, 0), configuration.getIntList("values"));
+        Assertions.assertArrayEquals(new int[]{1, 2, 0}, configuration.getIntArray("values"), "整数数组与整数列表跳过的元素不一致");
+        Assertions.assertEquals(List.of(1L, 2L, 10000000000L, 0L), configuration.getList("values", Long.class));
+        Assertions.assertArrayEquals(new long[]{1, 2, 10000000000L, 0}, configuration.getLongArray("values"), "长整数数组与长整数列表跳过的元素不一致");
+        Assertions.assertEquals(List.of(1.0, 2.0, 1.5, 10000000000.0, 0.0), configuration.getDoubleList("values"));
+        Assertions.assertArrayEquals(new double[]{1, 2, 1.5, 10000000000.0, 0}, configuration.getDoubleArray("values"), "双精度浮点数数组与列表跳过的元素不一致");
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void mutationTest() {
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration(PrimitiveListTest.YAML.getBytes(StandardCharsets.UTF_8));
+
+        List list = configuration.getList("ints", Object.class);
+        list.add("x");
+        list.add(1L);
+        list.set(0, null);
+        Assertions.assertEquals(Arrays.asList(null, 2, 3, "x", 1L), configuration.getList("ints", Object.class), "数值列表不能像普通列表一样修改");
+
+        List<Double> doubles = configuration.getDoubleList("doubles");
+        doubles.add(2.5);
+        Assertions.assertArrayEquals(new double[]{0.5, 1.5, 2.5}, configuration.getDoubleArray("doubles"), "数组没有反映列表的修改");
+    }
+
+    @Test
+    public void snapshotTest() throws IOException {
+        File file = new File(super.parent, "snapshot/primitive.yml");
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), PrimitiveListTest.YAML);
+
+        YamlSnapshotCache snapshotCache = YamlSnapshotCache.sidecar();
+        snapshotCache.invalidate(file);
+        YamlConfiguration parsed = YamlConfiguration.loadConfiguration(file, snapshotCache);
+        YamlConfiguration cached = YamlConfiguration.loadConfiguration(file, snapshotCache);
+        Assertions.assertEquals(parsed, cached, "从快照读取的数值列表与解析结果不一致");
+        Assertions.assertArrayEquals(new long[]{10000000000L, 20000000000L}, cached.getLongArray("longs"), "快照没有保留长整数列表");
+
+        List<Integer> ints = cached.getIntList("ints");
+        ints.add(4);
+        Assertions.assertArrayEquals(new int[]{1, 2, 3, 4}, cached.getIntArray("ints"), "从快照读取的数值列表不能修改");
+    }
+}
@@ -0,0 +1,36 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.SectionData;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class SectionCommentTest {
+    @Test
+    public void peekTest() {
+        SectionData data = new SectionData(1);
+        Assertions.assertSame(List.of(), data.peekCommentList(), "没有注释时没有返回共享的空列表");
+        Assertions.assertSame(List.of(), data.peekInlineCommentList(), "没有注释时没有返回共享的空列表");
+        Assertions.assertSame(List.of(), data.peekEndCommentList(), "没有注释时没有返回共享的空列表");
+        Assertions.assertEquals(new SectionData(1), data, "读取注释后节点发生了变化");
+
+        YamlConfiguration configuration = YamlConfiguration.loadConfiguration("a: 1\n".getBytes(StandardCharsets.UTF_8));
+        Assertions.assertSame(List.of(), configuration.getSectionData("a").peekCommentList(), "加载后没有注释的节点分配了注释列表");
+    }
+
+    @Test
+    public void firstWriteTest() {
+        SectionData data = new SectionData(1);
+        List<String> commentList = data.getCommentList();
+        commentList.add("comment");
+        Assertions.assertSame(commentList, data.getCommentList(), "首次写入后没有保留创建的注释列表");
+        Assertions.assertEquals(List.of("comment"), data.peekCommentList(), "首次写入的注释没有保存");
+        Assertions.assertSame(List.of(), data.peekInlineCommentList(), "写入块注释时创建了其他注释列表");
+
+        data.setCommentList(List.of());
+        Assertions.assertSame(List.of(), data.peekCommentList(), "清空注释后没有释放注释列表");
+    }
+}
@@ -0,0 +1,60 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.ConfigurationSection;
+import cn.chengzhimeow.ccyaml.configuration.MemoryConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class SectionViewTest extends YamlTest {
+    @Test
+    public void sectionViewTest() {
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        configuration.set("kits.starter.item", "apple");
+
+        String name = "starter";
+        ConfigurationSection section = configuration.getConfigurationSection("kits." + name);
+        Assertions.assertNotNull(section);
+        Assertions.assertEquals("kits.starter", section.getPath());
+        Assertions.assertSame(section, configuration.getConfigurationSection("kits." + name), "重复获取没有返回缓存的视图");
+
+        ConfigurationSection kits = configuration.getConfigurationSection("kits");
+        Assertions.assertNotNull(kits);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertSame(section, kits.getConfigurationSection(name), "从中间节点获取时没有命中缓存的视图");
+            Assertions.assertSame(section, configuration.getConfigurationSection("kits." + name), "交替从不同节点获取时缓存被替换");
+        }
+
+        section.set("amount", 3);
+        Assertions.assertEquals(3, configuration.getInt("kits.starter.amount"), "视图的修改没有写入原配置");
+        Assertions.assertSame(section, configuration.getConfigurationSection("kits.starter"));
+
+        configuration.set("kits.starter", Map.of("item", "bread"));
+        ConfigurationSection replaced = configuration.getConfigurationSection("kits.starter");
+        Assertions.assertNotNull(replaced);
+        Assertions.assertEquals("bread", replaced.getString("item"), "重新设定后视图没有更新");
+
+        configuration.set("kits.starter", 1);
+        Assertions.assertNull(configuration.getConfigurationSection("kits.starter"), "节点不再是配置节点时仍返回了视图");
+    }
+
+    @Test
+    public void childSectionViewTest() {
+        MemoryConfiguration configuration = MemoryConfiguration.empty();
+        configuration.set("kits.starter.reward.item", "apple");
+
+        ConfigurationSection kits = configuration.getConfigurationSection("kits");
+        Assertions.assertNotNull(kits);
+        ConfigurationSection reward = kits.getConfigurationSection("starter.reward");
+        Assertions.assertNotNull(reward);
+        Assertions.assertEquals("kits.starter.reward", reward.getPath(), "从子节点获取的视图路径不正确");
+        Assertions.assertSame(reward, kits.getConfigurationSection("starter.reward"), "从子节点重复获取没有返回缓存的视图");
+        Assertions.assertSame(reward, configuration.getConfigurationSection("kits.starter.reward"), "从根配置获取时没有命中子节点创建的视图");
+
+        ConfigurationSection starter = kits.getConfigurationSection("starter");
+        Assertions.assertNotNull(starter);
+        Assertions.assertSame(reward, starter.getConfigurationSection("reward"), "从更深的子节点获取时没有命中缓存的视图");
+        Assertions.assertEquals("apple", starter.getConfigurationSection("reward").getString("item"));
+    }
+}
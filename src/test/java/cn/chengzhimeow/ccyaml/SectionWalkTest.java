@@ -0,0 +1,66 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.SectionData;
+import cn.chengzhimeow.ccyaml.configuration.SectionEntry;
+import cn.chengzhimeow.ccyaml.configuration.SectionPath;
+import cn.chengzhimeow.ccyaml.configuration.SectionVisitor;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+public class SectionWalkTest extends YamlTest {
+    @Test
+    public void walkTest() {
+        YamlConfiguration yamlConfiguration;
+        try (InputStream in = super.loader.getResourceAsStream("test.yml")) {
+            Assertions.assertNotNull(in, "找不到测试文件");
+            yamlConfiguration = YamlConfiguration.loadConfiguration(in);
+        } catch (IOException e) {
+            Assertions.fail("无法正常读取测试文件", e);
+            return;
+        }
+
+        Set<String> visitedKeys = new HashSet<>();
+        int[] depth = new int[1];
+        yamlConfiguration.walk(new SectionVisitor() {
+            @Override
+            public boolean enterSection(SectionPath path, SectionData data) {
+                visitedKeys.add(path.toString());
+                depth[0]++;
+                return true;
+            }
+
+            @Override
+            public void leaveSection(SectionPath path, SectionData data) {
+                depth[0]--;
+            }
+
+            @Override
+            public void visitValue(SectionPath path, SectionData data) {
+                visitedKeys.add(path.toString());
+                Assertions.assertSame(data, yamlConfiguration.getSectionData(path.toString()), "访问到的数据与路径不一致");
+            }
+        });
+        Assertions.assertEquals(yamlConfiguration.getKeys(true), visitedKeys, "访问者遍历的键不完整");
+        Assertions.assertEquals(0, depth[0], "进入与离开节点的次数不一致");
+
+        Set<String> iteratedKeys = new HashSet<>();
+        Iterator<SectionEntry> iterator = yamlConfiguration.deepIterator();
+        while (iterator.hasNext()) {
+            SectionEntry entry = iterator.next();
+            iteratedKeys.add(entry.getPath().toString());
+            Assertions.assertEquals(entry.isSection(), yamlConfiguration.getConfigurationSection(entry.getPath().toString()) != null);
+        }
+        Assertions.assertEquals(yamlConfiguration.getKeys(true), iteratedKeys, "迭代器遍历的键不完整");
+
+        Set<String> frozenKeys = new HashSet<>();
+        yamlConfiguration.freeze().deepIterator().forEachRemaining(entry -> frozenKeys.add(entry.getPath().toString()));
+        Assertions.assertEquals(iteratedKeys, frozenKeys, "只读快照遍历的键不完整");
+    }
+}
@@ -0,0 +1,68 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlSnapshotCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+public class SnapshotCacheTest extends YamlTest {
+    @Test
+    public void snapshotTest() throws IOException {
+        File file = new File(super.parent, "snapshot/test.yml");
+        Files.createDirectories(file.getParentFile().toPath());
+        try (InputStream in = super.loader.getResourceAsStream("test.yml")) {
+            Assertions.assertNotNull(in, "找不到测试文件");
+            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        YamlSnapshotCache snapshotCache = YamlSnapshotCache.sidecar();
+        snapshotCache.invalidate(file);
+        YamlConfiguration parsed = YamlConfiguration.loadConfiguration(file, snapshotCache);
+        Assertions.assertTrue(Files.isRegularFile(snapshotCache.getSnapshotPath(file)), "没有生成快照文件");
+
+        YamlConfiguration cached = YamlConfiguration.loadConfiguration(file, snapshotCache);
+        Assertions.assertEquals(parsed, cached, "从快照读取的配置与解析结果不一致");
+        Assertions.assertEquals(parsed.toString(), cached.toString(), "从快照读取的配置与解析结果不一致");
+        Assertions.assertEquals(parsed.getCommentList("comment"), cached.getCommentList("comment"), "快照没有保留注释");
+        Assertions.assertFalse(cached.isDirty(), "从快照加载的配置不应为脏");
+
+        cached.set("test.int", 1);
+        cached.save(file);
+        YamlConfiguration reloaded = YamlConfiguration.loadConfiguration(file, snapshotCache);
+        Assertions.assertEquals(1, reloaded.getInt("test.int"), "文件修改后快照没有失效");
+    }
+
+    @Test
+    public void corruptedLengthTest() throws IOException {
+        File file = new File(super.parent, "snapshot/corrupted.yml");
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), "# comment\na: 1\n");
+
+        YamlSnapshotCache snapshotCache = YamlSnapshotCache.sidecar();
+        snapshotCache.invalidate(file);
+        YamlConfiguration parsed = YamlConfiguration.loadConfiguration(file, snapshotCache);
+        Path snapshot = snapshotCache.getSnapshotPath(file);
+        Assertions.assertTrue(Files.isRegularFile(snapshot), "没有生成快照文件");
+
+        // 文件头之后是根节点的注释数量, 改为超出剩余数据的长度
+        int offset = Integer.BYTES * 2 + Integer.BYTES + file.getAbsolutePath().getBytes(StandardCharsets.UTF_8).length + Long.BYTES * 3;
+        for (int length : new int[]{Integer.MAX_VALUE, -2}) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+            buffer.putInt(offset, length);
+            Files.write(snapshot, buffer.array());
+
+            YamlConfiguration loaded = Assertions.assertDoesNotThrow(() -> YamlConfiguration.loadConfiguration(file, snapshotCache), "损坏的快照长度导致加载失败");
+            Assertions.assertEquals(parsed, loaded, "快照损坏时没有退回到重新解析");
+            Assertions.assertTrue(Files.isRegularFile(snapshot), "快照损坏后没有重新生成");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+public class StreamSaveTest extends YamlTest {
+    @Test
+    public void streamSaveTest() throws IOException {
+        YamlConfiguration yamlConfiguration;
+        try (InputStream in = super.loader.getResourceAsStream("test.yml")) {
+            Assertions.assertNotNull(in, "找不到测试文件");
+            yamlConfiguration = YamlConfiguration.loadConfiguration(in);
+        }
+
+        StringWriter writer = new StringWriter();
+        yamlConfiguration.save(writer);
+        YamlConfiguration fromWriter = YamlConfiguration.loadConfiguration(new StringReader(writer.toString()));
+        Assertions.assertEquals(yamlConfiguration.getString("test.string_folded"), fromWriter.getString("test.string_folded"), "折叠字符串保存后内容发生变化");
+        Assertions.assertEquals(yamlConfiguration.getString("test.string_folded_remove_end_newline"), fromWriter.getString("test.string_folded_remove_end_newline"), "折叠字符串保存后内容发生变化");
+        Assertions.assertTrue(writer.toString().contains("string_folded: >"), "没有保留折叠样式");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        yamlConfiguration.save(out);
+        YamlConfiguration fromStream = YamlConfiguration.loadConfiguration(new ByteArrayInputStream(out.toByteArray()));
+        Assertions.assertEquals(yamlConfiguration.getKeys(true), fromStream.getKeys(true), "输出流保存后键不一致");
+        Assertions.assertEquals(writer.toString(), out.toString(StandardCharsets.UTF_8), "Writer 与输出流的保存结果不一致");
+    }
+}
@@ -0,0 +1,148 @@
+package cn.chengzhimeow.ccyaml;
+
+import cn.chengzhimeow.ccyaml.configuration.SectionData;
+import cn.chengzhimeow.ccyaml.configuration.StringSection;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConfiguration;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlConstructor;
+import cn.chengzhimeow.ccyaml.configuration.yaml.YamlEventLoader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.composer.Composer;
+import org.yaml.snakeyaml.composer.ComposerException;
+import org.yaml.snakeyaml.constructor.DuplicateKeyException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class YamlEventLoaderTest extends YamlTest {
+    private static SectionData loadEvents(String yaml, LoaderOptions loaderOptions) {
+        return new YamlEventLoader(loaderOptions, new YamlConstructor(loaderOptions)).load(new StringReader(yaml));
+    }
+
+    private static SectionData loadNodes(String yaml, LoaderOptions loaderOptions) {
+        MappingNode node = (MappingNode) new Composer(new ParserImpl(new StreamReader(new StringReader(yaml)), loaderOptions), new Resolver(), loaderOptions).getSingleNode();
+        return new NodeConstructor(loaderOptions).toSectionData(node);
+    }
+
+    private static void assertSameAsNodes(String yaml, LoaderOptions loaderOptions) {
+        SectionData events = YamlEventLoaderTest.loadEvents(yaml, loaderOptions);
+        SectionData nodes = YamlEventLoaderTest.loadNodes(yaml, loaderOptions);
+        Assertions.assertEquals(nodes, events, "事件加载器与 Node 图加载的结果不一致");
+        // noinspection unchecked
+        Assertions.assertEquals(
+                new ArrayList<>(((Map<String, SectionData>) nodes.getData()).keySet()),
+                new ArrayList<>(((Map<String, SectionData>) events.getData()).keySet()),
+                "事件加载器与 Node 图加载的键顺序不一致"
+        );
+    }
+
+    /**
+     * 合并键与重复键的值和顺序以 SnakeYAML 自身的加载结果为准
+     */
+    private static void assertSameAsSnakeYaml(String yaml, LoaderOptions loaderOptions) {
+        Object expected = new Yaml(loaderOptions).load(yaml);
+        Assertions.assertEquals(expected.toString(), YamlEventLoaderTest.toPlain(YamlEventLoaderTest.loadEvents(yaml, loaderOptions)).toString(), "事件加载器与 SnakeYAML 加载的结果不一致");
+    }
+
+    private static Object toPlain(Object value) {
+        if (value instanceof SectionData data) return YamlEventLoaderTest.toPlain(data.getData());
+        if (value instanceof StringSection str) return str.getValue();
+        if (!(value instanceof Map<?, ?> map)) return value;
+
+        Map<Object, Object> out = new LinkedHashMap<>();
+        map.forEach((k, v) -> out.put(k, YamlEventLoaderTest.toPlain(v)));
+        return out;
+    }
+
+    @Test
+    public void commentTest() throws Exception {
+        String yaml;
+        try (InputStream in = super.loader.getResourceAsStream("test.yml")) {
+            Assertions.assertNotNull(in, "找不到测试文件");
+            yaml = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        YamlEventLoaderTest.assertSameAsNodes(yaml, YamlConfiguration.defaultLoaderOptions());
+        YamlEventLoaderTest.assertSameAsNodes("""
+                # 头部注释
+
+                # 块注释
+                a: 1 # 行内注释
+                b: # Map 行内注释
+                  # 子节点注释
+                  c: [1, 2] # 列表行内注释
+                  d: {e: f} # 流式 Map 行内注释
+                # 尾部注释
+                """, YamlConfiguration.defaultLoaderOptions());
+    }
+
+    @Test
+    public void duplicateKeyTest() {
+        String yaml = "a: 1\nb: 2\na: 3\n";
+        YamlEventLoaderTest.assertSameAsSnakeYaml(yaml, YamlConfiguration.defaultLoaderOptions());
+
+        LoaderOptions loaderOptions = YamlConfiguration.defaultLoaderOptions();
+        loaderOptions.setAllowDuplicateKeys(false);
+        Assertions.assertThrows(DuplicateKeyException.class, () -> new Yaml(loaderOptions).load(yaml));
+        Assertions.assertThrows(DuplicateKeyException.class, () -> YamlEventLoaderTest.loadEvents(yaml, loaderOptions), "不允许重复键时没有抛出 DuplicateKeyException");
+        Assertions.assertDoesNotThrow(() -> YamlEventLoaderTest.loadEvents("base: &b {a: 1}\nchild:\n  <<: *b\n  a: 2\n", loaderOptions), "覆盖合并键不应视为重复键");
+    }
+
+    @Test
+    public void mergeKeyTest() {
+        YamlEventLoaderTest.assertSameAsSnakeYaml("""
+                base: &base
+                  x: 1
+                  y: 2
+                other: &other
+                  z: 3
+                child:
+                  a: 0
+                  <<: [*base, *other]
+                  y: 4
+                """, YamlConfiguration.defaultLoaderOptions());
+        YamlEventLoaderTest.assertSameAsSnakeYaml("""
+                base: &base {x: 1, y: 2}
+                child:
+                  y: 4
+                  <<: *base
+                """, YamlConfiguration.defaultLoaderOptions());
+    }
+
+    @Test
+    public void aliasTest() {
+        YamlEventLoaderTest.assertSameAsNodes("a: &a hello\nb: *a\nc: &c {d: 1}\ne: *c\n", YamlConfiguration.defaultLoaderOptions());
+
+        LoaderOptions loaderOptions = YamlConfiguration.defaultLoaderOptions();
+        loaderOptions.setMaxAliasesForCollections(2);
+        String yaml = "a: &a [1]\nb: *a\nc: *a\nd: *a\n";
+        Assertions.assertThrows(YAMLException.class, () -> YamlEventLoaderTest.loadNodes(yaml, loaderOptions));
+        Assertions.assertThrows(YAMLException.class, () -> YamlEventLoaderTest.loadEvents(yaml, loaderOptions), "超过别名数量限制时没有抛出异常");
+
+        ComposerException undefined = Assertions.assertThrows(ComposerException.class, () -> YamlEventLoaderTest.loadEvents("a: *missing\n", loaderOptions));
+        Assertions.assertTrue(undefined.getMessage().contains("undefined alias"), "未定义的别名没有正确报错");
+
+        ComposerException recursive = Assertions.assertThrows(ComposerException.class, () -> YamlEventLoaderTest.loadEvents("a: &x\n  b: *x\n", loaderOptions));
+        Assertions.assertTrue(recursive.getMessage().contains("recursive anchor"), "递归锚点没有正确报错");
+    }
+
+    private static final class NodeConstructor extends YamlConstructor {
+        private NodeConstructor(LoaderOptions loaderOptions) {
+            super(loaderOptions);
+        }
+
+        private SectionData toSectionData(MappingNode node) {
+            return this.mappingNodeToSectionData(node);
+        }
+    }
+}
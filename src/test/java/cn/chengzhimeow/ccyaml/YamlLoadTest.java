@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
 
 public class YamlLoadTest extends CheckTestYaml {
     @Test
@@ -21,4 +23,23 @@ public class YamlLoadTest extends CheckTestYaml {
             Assertions.fail("无法正常加载配置文件", e);
         }
     }
+
+    @Test
+    public void loadBytesTest() {
+        this.yamlManager.getFileManager().saveResource("test.yml", "load_bytes.yml", true);
+        File file = new File(this.parent, "load_bytes.yml");
+        Assertions.assertTrue(file.exists(), "找不到输出文件");
+
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            super.checkTestConfiguration(YamlConfiguration.loadConfiguration(file.toPath()));
+            super.checkTestConfiguration(YamlConfiguration.loadConfiguration(bytes));
+
+            YamlConfiguration yamlConfiguration = new YamlConfiguration();
+            yamlConfiguration.load(ByteBuffer.wrap(bytes));
+            super.checkTestConfiguration(yamlConfiguration);
+        } catch (IOException e) {
+            Assertions.fail("无法正常加载配置文件", e);
+        }
+    }
 }